@@ -4,7 +4,6 @@ import static java.util.stream.Collectors.groupingBy;
 import static java.util.stream.Collectors.joining;
 import static java.util.stream.Collectors.mapping;
 import static java.util.stream.Collectors.partitioningBy;
-import static java.util.stream.Collectors.reducing;
 
 import ua.procamp.exception.EntityNotFoundException;
 import ua.procamp.model.Account;
@@ -14,23 +13,92 @@ import java.math.BigDecimal;
 import java.time.LocalDate;
 import java.time.Month;
 import java.util.*;
+import java.util.concurrent.ForkJoinPool;
 import java.util.function.Function;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
 
 /**
  * Implement methods using Stream API
+ * <p>
+ * Queries run sequentially by default. {@link AccountAnalytics#parallel()} and
+ * {@link AccountAnalytics#withExecutor(ForkJoinPool)} return a variant that runs every query as a parallel stream in
+ * a {@link ForkJoinPool}. Parallel queries use merge-friendly collectors that keep encounter order, so they return the
+ * same results as sequential ones.
+ * <p>
+ * Point lookups by email and id, and email domain checks use indexes that are built on first use and reused by later
+ * calls. The provided accounts should not be modified after analytics is created.
  */
 public class AccountAnalytics {
     private Collection<Account> accounts;
+    private final ForkJoinPool pool;
+    private final Lazy<Map<String, Account>> emailIndex = new Lazy<>(this::buildEmailIndex);
+    private final Lazy<Map<Long, Account>> idIndex = new Lazy<>(this::buildIdIndex);
+    private final Lazy<EmailDomainIndex> emailDomainIndex = new Lazy<>(this::buildEmailDomainIndex);
 
     public static AccountAnalytics of(Collection<Account> accounts) {
         return new AccountAnalytics(accounts);
     }
 
-    private AccountAnalytics(Collection<Account> accounts) {
+    /**
+     * Creates {@link AccountAnalytics} that answers all queries from {@link AccountColumns} and creates
+     * {@link Account} instances only for the accounts it returns.
+     *
+     * @param columns columnar account store
+     * @return analytics over the columns
+     */
+    public static AccountAnalytics of(AccountColumns columns) {
+        return new ColumnarAccountAnalytics(columns);
+    }
+
+    AccountAnalytics(Collection<Account> accounts) {
+        this(accounts, null);
+    }
+
+    AccountAnalytics(Collection<Account> accounts, ForkJoinPool pool) {
         this.accounts = accounts;
+        this.pool = pool;
+    }
+
+    /**
+     * Returns {@link AccountAnalytics} over the same accounts that runs every query in the common {@link ForkJoinPool}.
+     *
+     * @return parallel analytics
+     */
+    public AccountAnalytics parallel() {
+        return withExecutor(ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Returns {@link AccountAnalytics} over the same accounts that runs every query in the provided
+     * {@link ForkJoinPool}. Accounts of a collection without encounter order (e.g. {@link HashSet}) are copied into a
+     * list once, so parallel queries see them in the same order as sequential ones.
+     *
+     * @param pool a pool that runs queries
+     * @return parallel analytics
+     */
+    public AccountAnalytics withExecutor(ForkJoinPool pool) {
+        Objects.requireNonNull(pool);
+        boolean ordered = accounts.spliterator().hasCharacteristics(Spliterator.ORDERED);
+        return new AccountAnalytics(ordered ? accounts : new ArrayList<>(accounts), pool);
+    }
+
+    boolean isParallel() {
+        return pool != null;
+    }
+
+    /**
+     * Runs a query in the calling thread or, in parallel mode, in the pool. Parallel streams use the pool of the
+     * thread that starts them.
+     */
+    <R> R run(Supplier<R> query) {
+        return pool == null ? query.get() : pool.submit(query::get).join();
+    }
+
+    private Stream<Account> stream() {
+        return pool == null ? accounts.stream() : accounts.parallelStream();
     }
 
     /**
@@ -39,7 +107,72 @@ public class AccountAnalytics {
      * @return account with max balance wrapped with optional
      */
     public Optional<Account> findRichestPerson() {
-        return accounts.stream().max(Comparator.comparing(Account::getBalance));
+        return run(() -> stream().max(Comparator.comparing(Account::getBalance)));
+    }
+
+    /**
+     * Returns up to {@code n} accounts with the largest balances, richest first. Accounts with equal balances keep
+     * their order, so the result is the same as sorting accounts by balance in descending order and taking the first
+     * {@code n}. Accounts are selected with a bounded heap in a single pass.
+     *
+     * @param n max number of accounts
+     * @return a list of the richest accounts
+     */
+    public List<Account> findRichestPersons(int n) {
+        return run(() -> stream().collect(TopK.collector(n, Comparator.comparing(Account::getBalance))));
+    }
+
+    /**
+     * Returns a {@link BalanceSketch} of all balances that gives approximate percentiles (e.g. p50, p90, p99) within
+     * the provided relative accuracy. The sketch is built in a single pass.
+     *
+     * @param relativeAccuracy max relative error of percentiles, e.g. 0.01 for 1%
+     * @return a sketch of balances
+     */
+    public BalanceSketch summarizeBalances(double relativeAccuracy) {
+        return run(() -> stream().collect(() -> new BalanceSketch(relativeAccuracy),
+                (sketch, account) -> sketch.add(account.getBalance().doubleValue()),
+                BalanceSketch::merge));
+    }
+
+    /**
+     * Returns a histogram of balances. Boundaries split all balances into ranges: the first range holds balances
+     * less than the first boundary, range {@code i} holds balances from boundary {@code i - 1} inclusive to boundary
+     * {@code i} exclusive, and the last range holds balances that are not less than the last boundary.
+     *
+     * @param boundaries range boundaries in ascending order
+     * @return an array of {@code boundaries.length + 1} account counts, one per range
+     */
+    public long[] countAccountsByBalanceRanges(BigDecimal... boundaries) {
+        checkBoundaries(boundaries);
+        return run(() -> stream().collect(() -> new long[boundaries.length + 1],
+                (counts, account) -> counts[balanceRange(boundaries, account.getBalance())]++,
+                (counts, otherCounts) -> Arrays.setAll(counts, i -> counts[i] + otherCounts[i])));
+    }
+
+    static void checkBoundaries(BigDecimal[] boundaries) {
+        for (int i = 1; i < boundaries.length; i++) {
+            if (boundaries[i - 1].compareTo(boundaries[i]) >= 0) {
+                throw new IllegalArgumentException("Boundaries must be in ascending order");
+            }
+        }
+    }
+
+    /**
+     * Returns the number of boundaries that are less than or equal to the balance.
+     */
+    static int balanceRange(BigDecimal[] boundaries, BigDecimal balance) {
+        int low = 0;
+        int high = boundaries.length;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (boundaries[middle].compareTo(balance) <= 0) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return low;
     }
 
     /**
@@ -49,10 +182,9 @@ public class AccountAnalytics {
      * @return a list of accounts
      */
     public List<Account> findAccountsByBirthdayMonth(Month birthdayMonth) {
-        return accounts
-                .stream()
+        return run(() -> stream()
                 .filter(account -> account.getBirthday().getMonth().equals(birthdayMonth))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
@@ -63,9 +195,8 @@ public class AccountAnalytics {
      * @return a map where key is true or false, and value is list of male, and female accounts
      */
     public Map<Boolean, List<Account>> partitionMaleAccounts() {
-        return accounts
-                .stream()
-                .collect(partitioningBy(ac -> ac.getSex().equals(Sex.MALE)));
+        return run(() -> stream()
+                .collect(partitioningBy(ac -> ac.getSex().equals(Sex.MALE))));
     }
 
     /**
@@ -76,8 +207,8 @@ public class AccountAnalytics {
      * @return a map where key is an email domain and value is a list of all account with such email
      */
     public Map<String, List<Account>> groupAccountsByEmailDomain() {
-        return accounts.stream()
-                .collect(groupingBy(account -> account.getEmail().substring(account.getEmail().indexOf('@') + 1)));
+        return run(() -> stream()
+                .collect(groupingBy(account -> account.getEmail().substring(account.getEmail().indexOf('@') + 1))));
     }
 
     /**
@@ -86,10 +217,10 @@ public class AccountAnalytics {
      * @return total number of letters of first and last names of all accounts
      */
     public int getNumOfLettersInFirstAndLastNames() {
-        return accounts.stream()
+        return run(() -> stream()
                 .map(acc -> acc.getFirstName().length() + acc.getLastName().length())
                 .reduce(Integer::sum)
-                .orElse(0);
+                .orElse(0));
     }
 
     /**
@@ -98,10 +229,9 @@ public class AccountAnalytics {
      * @return total balance of all accounts
      */
     public BigDecimal calculateTotalBalance() {
-        return accounts.stream()
+        return run(() -> stream()
                 .map(Account::getBalance)
-                .reduce(BigDecimal::add)
-                .orElse(BigDecimal.ZERO);
+                .collect(BalanceAccumulator.summing(false)));
     }
 
     /**
@@ -110,21 +240,26 @@ public class AccountAnalytics {
      * @return list of accounts sorted by first and last names
      */
     public List<Account> sortByFirstAndLastNames() {
-        return accounts.stream()
+        return run(() -> stream()
                 .sorted(Comparator.comparing(Account::getFirstName).thenComparing(Account::getLastName))
-                .collect(Collectors.toList());
+                .collect(Collectors.toList()));
     }
 
     /**
-     * Checks if there is at least one account with provided email domain.
+     * Checks if there is at least one account with provided email domain. A domain matches if it is equal to the
+     * provided one or ends with it, e.g. "mail.com" matches both "mail.com" and "gmail.com".
      *
      * @param emailDomain
      * @return true if there is an account that has an email with provided domain
      */
     public boolean containsAccountWithEmailDomain(String emailDomain) {
-        return accounts.stream()
-                .anyMatch(account -> account.getEmail().contains(emailDomain));
-        //   .filter(account -> account.getEmail().contains(emailDomain)).findAny().isPresent();
+        return emailDomainIndex.get().containsDomainEndingWith(emailDomain);
+    }
+
+    EmailDomainIndex buildEmailDomainIndex() {
+        return run(() -> EmailDomainIndex.of(stream()
+                .map(account -> account.getEmail().substring(account.getEmail().indexOf('@') + 1))
+                .distinct()));
     }
 
 
@@ -136,23 +271,33 @@ public class AccountAnalytics {
      * @return account balance
      */
     public BigDecimal getBalanceByEmail(String email) {
-        return accounts.stream()
-                .filter(account -> account.getEmail().equals(email))
-                .map(Objects::requireNonNull)
+        return Optional.ofNullable(emailIndex.get().get(email))
                 .map(Account::getBalance)
-                .findAny().orElseThrow(() -> new EntityNotFoundException(String.format("Cannot find Account by " +
+                .orElseThrow(() -> new EntityNotFoundException(String.format("Cannot find Account by " +
                         "email=%s", email)));
     }
 
+    /**
+     * Builds an index of accounts by email. If several accounts have the same email, the first one is indexed.
+     */
+    Map<String, Account> buildEmailIndex() {
+        return run(() -> stream()
+                .collect(Collectors.toMap(Account::getEmail, Function.identity(), (first, second) -> first)));
+    }
+
     /**
      * Collects all existing accounts into a {@link Map} where a key is account id, and the value is {@link Account}
-     * instance
+     * instance. The map is built once and returned as an unmodifiable view on every call.
      *
      * @return map of accounts by its ids
      */
     public Map<Long, Account> collectAccountsById() {
-        return accounts.stream()
-                .collect(Collectors.toMap(Account::getId, Function.identity()));
+        return idIndex.get();
+    }
+
+    Map<Long, Account> buildIdIndex() {
+        return Collections.unmodifiableMap(run(() -> stream()
+                .collect(Collectors.toMap(Account::getId, Function.identity()))));
     }
 
     /**
@@ -164,9 +309,9 @@ public class AccountAnalytics {
      * @return map of account by its ids the were created in a particular year
      */
     public Map<String, BigDecimal> collectBalancesByIdForAccountsCreatedOn(int year) {
-        return accounts.stream()
+        return run(() -> stream()
                 .filter(account -> account.getCreationDate().getYear() == year)
-                .collect(Collectors.toMap(Account::getEmail, Account::getBalance));
+                .collect(Collectors.toMap(Account::getEmail, Account::getBalance)));
     }
 
     /**
@@ -176,10 +321,10 @@ public class AccountAnalytics {
      * @return a map where key is a first name and value is a set of first names
      */
     public Map<String, Set<String>> groupFirstNamesByLastNames() {
-        return accounts.stream()
+        return run(() -> stream()
                 .collect(Collectors.groupingBy(Account::getLastName,
                         mapping(Account::getFirstName,
-                                Collectors.toSet())));
+                                Collectors.toSet()))));
     }
 
     /**
@@ -189,9 +334,9 @@ public class AccountAnalytics {
      * @return a map where a key is a birthday month and value is comma-separated first names
      */
     public Map<Month, String> groupCommaSeparatedFirstNamesByBirthdayMonth() {
-        return accounts.stream()
+        return run(() -> stream()
                 .collect(groupingBy(account -> account.getBirthday().getMonth(),
-                        mapping(Account::getFirstName, joining(", "))));
+                        mapping(Account::getFirstName, joining(", ")))));
     }
     //https://habr.com/ru/post/348536/ --- 6
 
@@ -202,12 +347,9 @@ public class AccountAnalytics {
      * @return a map where key is a creation month and value is total balance of all accounts created in that month
      */
     public Map<Month, BigDecimal> groupTotalBalanceByCreationMonth() {
-        Map<Month, BigDecimal> map = accounts.stream()
+        return run(() -> stream()
                 .collect(groupingBy(account -> account.getCreationDate().getMonth(),
-                        mapping(Account::getBalance, reducing(BigDecimal.ZERO, BigDecimal::add))
-                       ));//summingDouble(BigDecimal::doubleValue)
-        System.out.println(map);
-        return map;
+                        mapping(Account::getBalance, BalanceAccumulator.summing(true)))));
     }
 
     /**
@@ -217,14 +359,10 @@ public class AccountAnalytics {
      * @return a map where key is a letter and value is its count in all first names
      */
     public Map<Character, Long> getCharacterFrequencyInFirstNames() {
-        Map<Character, Long>  map =  accounts.stream()
-                .map(Account::getFirstName)
-                .flatMap(word -> Arrays.stream(word.split("")))
-                .collect(Collectors.groupingBy(
-                        letter -> letter.charAt(0),
-                        Collectors.counting()));
-        System.out.println(map);
-        return map;
+        return run(() -> stream()
+                .collect(CharacterHistogram.counting(
+                        (histogram, account) -> histogram.add(account.getFirstName(), 1, false))))
+                .toCharacterMap();
     }
 
     /**
@@ -234,14 +372,12 @@ public class AccountAnalytics {
      * @return a map where key is a letter and value is its count ignoring case in all first and last names
      */
     public Map<Character, Long> getCharacterFrequencyIgnoreCaseInFirstAndLastNames() {
-        Map<Character, Long>  map =  accounts.stream()
-                .map(account -> account.getFirstName().toLowerCase() + account.getLastName().toLowerCase() )
-                .flatMap(word -> Arrays.stream(word.split("")))
-                .collect(Collectors.groupingBy(
-                        letter -> letter.charAt(0),
-                        Collectors.counting()));
-        System.out.println(map);
-        return map;
+        return run(() -> stream()
+                .collect(CharacterHistogram.counting((histogram, account) -> {
+                    histogram.add(account.getFirstName(), 1, true);
+                    histogram.add(account.getLastName(), 1, true);
+                })))
+                .toCharacterMap();
     }
 
 }
@@ -0,0 +1,182 @@
+package ua.procamp;
+
+import ua.procamp.model.Account;
+import ua.procamp.model.Sex;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.AbstractList;
+import java.util.Collection;
+import java.util.List;
+import java.util.RandomAccess;
+
+/**
+ * {@link AccountColumns} is a columnar, read-only representation of {@link Account} records. Instead of keeping a graph
+ * of objects, every field is stored as a primitive column that is addressed by a row number:
+ * <ul>
+ * <li>id is a {@code long} ({@link #NO_ID} stands for {@code null})</li>
+ * <li>first and last names are dictionary-encoded</li>
+ * <li>email is split into a prefix (everything up to and including '@') and a dictionary-encoded domain</li>
+ * <li>balance is an unscaled {@code long} with its scale</li>
+ * <li>birthday and creation date are {@code int} epoch days</li>
+ * <li>sex is a {@code byte} ordinal of {@link Sex}</li>
+ * </ul>
+ * {@link Account} instances are created only when they are requested via {@link #account(int)}.
+ */
+public abstract class AccountColumns {
+    public static final long NO_ID = Long.MIN_VALUE;
+
+    private static final Sex[] SEXES = Sex.values();
+
+    /**
+     * Creates columns from a collection of accounts. All account fields except id are required. Balances must have
+     * an unscaled value that fits into {@code long}, otherwise {@link ArithmeticException} is thrown.
+     *
+     * @param accounts accounts to store
+     * @return new columns that hold all provided accounts in the iteration order
+     */
+    public static AccountColumns of(Collection<Account> accounts) {
+        return HeapAccountColumns.from(accounts);
+    }
+
+    /**
+     * Returns the number of rows.
+     *
+     * @return number of stored accounts
+     */
+    public abstract int size();
+
+    public abstract long id(int row);
+
+    public abstract int firstNameCode(int row);
+
+    public abstract int lastNameCode(int row);
+
+    /**
+     * Returns everything up to and including the first '@' of the email, or an empty string if there is no '@'.
+     *
+     * @param row row number
+     * @return email prefix
+     */
+    public abstract String emailPrefix(int row);
+
+    public abstract int emailDomainCode(int row);
+
+    public abstract long balanceUnscaled(int row);
+
+    public abstract int balanceScale(int row);
+
+    public abstract int birthdayEpochDay(int row);
+
+    public abstract int creationEpochDay(int row);
+
+    public abstract byte sex(int row);
+
+    public abstract StringDictionary firstNames();
+
+    public abstract StringDictionary lastNames();
+
+    public abstract StringDictionary emailDomains();
+
+    public String firstName(int row) {
+        return firstNames().get(firstNameCode(row));
+    }
+
+    public String lastName(int row) {
+        return lastNames().get(lastNameCode(row));
+    }
+
+    public String emailDomain(int row) {
+        return emailDomains().get(emailDomainCode(row));
+    }
+
+    public String email(int row) {
+        return emailPrefix(row).concat(emailDomain(row));
+    }
+
+    public BigDecimal balance(int row) {
+        return BigDecimal.valueOf(balanceUnscaled(row), balanceScale(row));
+    }
+
+    /**
+     * Returns a balance as {@code double}. Zero-scale balances are converted without creating {@link BigDecimal}.
+     *
+     * @param row row number
+     * @return balance as double
+     */
+    public double balanceAsDouble(int row) {
+        return balanceScale(row) == 0 ? balanceUnscaled(row) : balance(row).doubleValue();
+    }
+
+    /**
+     * Compares balances of two rows. Balances with the same scale are compared without creating {@link BigDecimal}.
+     *
+     * @param row      row number
+     * @param otherRow another row number
+     * @return negative, zero or positive number as in {@link BigDecimal#compareTo(BigDecimal)}
+     */
+    public int compareBalances(int row, int otherRow) {
+        if (balanceScale(row) == balanceScale(otherRow)) {
+            return Long.compare(balanceUnscaled(row), balanceUnscaled(otherRow));
+        }
+        return balance(row).compareTo(balance(otherRow));
+    }
+
+    public LocalDate birthday(int row) {
+        return LocalDate.ofEpochDay(birthdayEpochDay(row));
+    }
+
+    public Month birthdayMonth(int row) {
+        return Month.of(EpochDays.month(birthdayEpochDay(row)));
+    }
+
+    public LocalDate creationDate(int row) {
+        return LocalDate.ofEpochDay(creationEpochDay(row));
+    }
+
+    public Month creationMonth(int row) {
+        return Month.of(EpochDays.month(creationEpochDay(row)));
+    }
+
+    public int creationYear(int row) {
+        return EpochDays.year(creationEpochDay(row));
+    }
+
+    public boolean isMale(int row) {
+        return sex(row) == Sex.MALE.ordinal();
+    }
+
+    /**
+     * Creates a new {@link Account} instance from the row.
+     *
+     * @param row row number
+     * @return new account
+     */
+    public Account account(int row) {
+        long id = id(row);
+        return new Account(id == NO_ID ? null : id, firstName(row), lastName(row), email(row), birthday(row),
+                SEXES[sex(row)], creationDate(row), balance(row));
+    }
+
+    /**
+     * Returns a read-only {@link List} view that creates {@link Account} instances on access.
+     *
+     * @return list view of the columns
+     */
+    public List<Account> asList() {
+        return new AccountListView();
+    }
+
+    private class AccountListView extends AbstractList<Account> implements RandomAccess {
+        @Override
+        public Account get(int index) {
+            return account(index);
+        }
+
+        @Override
+        public int size() {
+            return AccountColumns.this.size();
+        }
+    }
+}
@@ -0,0 +1,260 @@
+package ua.procamp;
+
+import ua.procamp.model.Account;
+
+import java.io.BufferedOutputStream;
+import java.io.DataOutputStream;
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.EnumMap;
+import java.util.Map;
+
+/**
+ * {@link AccountSnapshots} writes {@link AccountColumns} into a compact binary file and opens it back as memory-mapped
+ * {@link AccountColumns}. Opening a snapshot maps every column and decodes only the string dictionaries, so it takes
+ * milliseconds regardless of the number of accounts, and {@link AccountAnalytics#of(AccountColumns)} reads the mapped
+ * columns without copying them to the heap.
+ * <p>
+ * A snapshot is a sequence of column sections followed by a footer. All numbers are big-endian, sections are aligned
+ * to 8 bytes:
+ * <pre>
+ * section*           one per {@link Section}, in declaration order
+ * footer:
+ *   int magic, int version, int rowCount
+ *   (long offset, long length) per section
+ *   3 dictionaries    first names, last names, email domains: int count, (int length, UTF-8 bytes)*
+ *   long footerOffset, int magic
+ * </pre>
+ * Email prefixes are stored as UTF-8 bytes with {@code rowCount + 1} int offsets. Every section must be smaller than
+ * 2 GB, which allows about 250 million accounts.
+ */
+public final class AccountSnapshots {
+    private static final int MAGIC = 0x41434354;
+    private static final int VERSION = 1;
+    private static final int ALIGNMENT = Long.BYTES;
+    private static final int TRAILER_SIZE = Long.BYTES + Integer.BYTES;
+
+    /**
+     * Column sections of a snapshot.
+     */
+    enum Section {
+        IDS, FIRST_NAME_CODES, LAST_NAME_CODES, EMAIL_PREFIX_OFFSETS, EMAIL_PREFIXES, EMAIL_DOMAIN_CODES, BALANCES,
+        BALANCE_SCALES, BIRTHDAYS, CREATION_DATES, SEXES
+    }
+
+    private AccountSnapshots() {
+    }
+
+    /**
+     * Writes accounts into a snapshot file. See {@link AccountColumns#of(Collection)} for account requirements.
+     *
+     * @param accounts accounts to write
+     * @param file     snapshot file, it is replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(Collection<Account> accounts, Path file) throws IOException {
+        write(AccountColumns.of(accounts), file);
+    }
+
+    /**
+     * Writes columns into a snapshot file.
+     *
+     * @param columns columns to write
+     * @param file    snapshot file, it is replaced if it exists
+     * @throws IOException if the file cannot be written
+     */
+    public static void write(AccountColumns columns, Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE, StandardOpenOption.WRITE,
+                StandardOpenOption.TRUNCATE_EXISTING);
+             CountingOutputStream counter = new CountingOutputStream(
+                     new BufferedOutputStream(Channels.newOutputStream(channel), 1 << 16));
+             DataOutputStream out = new DataOutputStream(counter)) {
+            Map<Section, long[]> sections = new EnumMap<>(Section.class);
+            int size = columns.size();
+            for (Section section : Section.values()) {
+                long offset = counter.count;
+                writeSection(section, columns, out);
+                out.flush();
+                long length = counter.count - offset;
+                if (length > Integer.MAX_VALUE) {
+                    throw new IOException("Section " + section + " exceeds 2 GB");
+                }
+                sections.put(section, new long[]{offset, length});
+                while (counter.count % ALIGNMENT != 0) {
+                    out.writeByte(0);
+                }
+            }
+
+            long footerOffset = counter.count;
+            out.writeInt(MAGIC);
+            out.writeInt(VERSION);
+            out.writeInt(size);
+            for (long[] section : sections.values()) {
+                out.writeLong(section[0]);
+                out.writeLong(section[1]);
+            }
+            writeDictionary(columns.firstNames(), out);
+            writeDictionary(columns.lastNames(), out);
+            writeDictionary(columns.emailDomains(), out);
+            out.writeLong(footerOffset);
+            out.writeInt(MAGIC);
+        }
+    }
+
+    private static void writeSection(Section section, AccountColumns columns, DataOutputStream out)
+            throws IOException {
+        int size = columns.size();
+        switch (section) {
+            case IDS:
+                for (int row = 0; row < size; row++) {
+                    out.writeLong(columns.id(row));
+                }
+                break;
+            case FIRST_NAME_CODES:
+                for (int row = 0; row < size; row++) {
+                    out.writeInt(columns.firstNameCode(row));
+                }
+                break;
+            case LAST_NAME_CODES:
+                for (int row = 0; row < size; row++) {
+                    out.writeInt(columns.lastNameCode(row));
+                }
+                break;
+            case EMAIL_PREFIX_OFFSETS:
+                long offset = 0;
+                out.writeInt(0);
+                for (int row = 0; row < size; row++) {
+                    offset += columns.emailPrefix(row).getBytes(StandardCharsets.UTF_8).length;
+                    if (offset > Integer.MAX_VALUE) {
+                        throw new IOException("Section " + Section.EMAIL_PREFIXES + " exceeds 2 GB");
+                    }
+                    out.writeInt((int) offset);
+                }
+                break;
+            case EMAIL_PREFIXES:
+                for (int row = 0; row < size; row++) {
+                    out.write(columns.emailPrefix(row).getBytes(StandardCharsets.UTF_8));
+                }
+                break;
+            case EMAIL_DOMAIN_CODES:
+                for (int row = 0; row < size; row++) {
+                    out.writeInt(columns.emailDomainCode(row));
+                }
+                break;
+            case BALANCES:
+                for (int row = 0; row < size; row++) {
+                    out.writeLong(columns.balanceUnscaled(row));
+                }
+                break;
+            case BALANCE_SCALES:
+                for (int row = 0; row < size; row++) {
+                    out.writeByte(columns.balanceScale(row));
+                }
+                break;
+            case BIRTHDAYS:
+                for (int row = 0; row < size; row++) {
+                    out.writeInt(columns.birthdayEpochDay(row));
+                }
+                break;
+            case CREATION_DATES:
+                for (int row = 0; row < size; row++) {
+                    out.writeInt(columns.creationEpochDay(row));
+                }
+                break;
+            case SEXES:
+                for (int row = 0; row < size; row++) {
+                    out.writeByte(columns.sex(row));
+                }
+                break;
+            default:
+                throw new IllegalStateException("Unknown section " + section);
+        }
+    }
+
+    private static void writeDictionary(StringDictionary dictionary, DataOutputStream out) throws IOException {
+        out.writeInt(dictionary.size());
+        for (int code = 0; code < dictionary.size(); code++) {
+            byte[] bytes = dictionary.get(code).getBytes(StandardCharsets.UTF_8);
+            out.writeInt(bytes.length);
+            out.write(bytes);
+        }
+    }
+
+    /**
+     * Opens a snapshot file as memory-mapped columns. The file must not be modified while the columns are in use.
+     *
+     * @param file snapshot file
+     * @return columns that read the mapped file
+     * @throws IOException if the file cannot be read or is not a snapshot
+     */
+    public static AccountColumns open(Path file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            long fileSize = channel.size();
+            if (fileSize < TRAILER_SIZE) {
+                throw new IOException("Not an account snapshot: " + file);
+            }
+            ByteBuffer trailer = channel.map(FileChannel.MapMode.READ_ONLY, fileSize - TRAILER_SIZE, TRAILER_SIZE);
+            long footerOffset = trailer.getLong();
+            if (trailer.getInt() != MAGIC || footerOffset < 0 || footerOffset > fileSize - TRAILER_SIZE) {
+                throw new IOException("Not an account snapshot: " + file);
+            }
+            ByteBuffer footer = channel.map(FileChannel.MapMode.READ_ONLY, footerOffset,
+                    fileSize - TRAILER_SIZE - footerOffset);
+            if (footer.getInt() != MAGIC) {
+                throw new IOException("Not an account snapshot: " + file);
+            }
+            int version = footer.getInt();
+            if (version != VERSION) {
+                throw new IOException("Unsupported account snapshot version " + version + ": " + file);
+            }
+            int size = footer.getInt();
+            Map<Section, MappedByteBuffer> sections = new EnumMap<>(Section.class);
+            for (Section section : Section.values()) {
+                long offset = footer.getLong();
+                long length = footer.getLong();
+                sections.put(section, channel.map(FileChannel.MapMode.READ_ONLY, offset, length));
+            }
+            return new MappedAccountColumns(size, sections, readDictionary(footer), readDictionary(footer),
+                    readDictionary(footer));
+        }
+    }
+
+    private static StringDictionary readDictionary(ByteBuffer footer) {
+        String[] values = new String[footer.getInt()];
+        for (int code = 0; code < values.length; code++) {
+            byte[] bytes = new byte[footer.getInt()];
+            footer.get(bytes);
+            values[code] = new String(bytes, StandardCharsets.UTF_8);
+        }
+        return StringDictionary.ofSorted(values);
+    }
+
+    private static final class CountingOutputStream extends FilterOutputStream {
+        private long count;
+
+        CountingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(int b) throws IOException {
+            out.write(b);
+            count++;
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+            count += len;
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package ua.procamp;
+
+import java.math.BigDecimal;
+import java.util.stream.Collector;
+
+/**
+ * {@link BalanceAccumulator} sums balances as an unscaled {@code long} with a common scale instead of creating a new
+ * {@link BigDecimal} per addition. Balances with different scales are rescaled to the largest one, the same way as
+ * {@link BigDecimal#add(BigDecimal)} does. When a value does not fit into {@code long}, the accumulator falls back to
+ * {@link BigDecimal} arithmetic, so the result is always equal to the {@link BigDecimal} sum, including its scale.
+ * <p>
+ * Zero-scale balances with less than 19 digits are read without any allocation.
+ */
+final class BalanceAccumulator {
+    private static final int NO_SCALE = Integer.MIN_VALUE;
+    private static final int MAX_LONG_PRECISION = 18;
+    private static final long[] POWERS_OF_TEN = new long[MAX_LONG_PRECISION + 1];
+
+    static {
+        POWERS_OF_TEN[0] = 1;
+        for (int i = 1; i < POWERS_OF_TEN.length; i++) {
+            POWERS_OF_TEN[i] = POWERS_OF_TEN[i - 1] * 10;
+        }
+    }
+
+    private long unscaledSum;
+    private int scale;
+    private BigDecimal bigSum;
+
+    /**
+     * @param startsFromZero {@code true} if the sum behaves like a reduction that starts from {@link BigDecimal#ZERO},
+     *                       so its scale is never less than zero. Otherwise the sum of no balances is
+     *                       {@link BigDecimal#ZERO}, and the sum of some balances has the largest scale among them.
+     */
+    BalanceAccumulator(boolean startsFromZero) {
+        this.scale = startsFromZero ? 0 : NO_SCALE;
+    }
+
+    /**
+     * Returns a collector that sums balances with an accumulator per thread.
+     *
+     * @param startsFromZero see {@link BalanceAccumulator#BalanceAccumulator(boolean)}
+     * @return a collector that produces the sum
+     */
+    static Collector<BigDecimal, BalanceAccumulator, BigDecimal> summing(boolean startsFromZero) {
+        return Collector.of(() -> new BalanceAccumulator(startsFromZero),
+                BalanceAccumulator::add,
+                BalanceAccumulator::merge,
+                BalanceAccumulator::sum);
+    }
+
+    void add(BigDecimal balance) {
+        if (balance.precision() > MAX_LONG_PRECISION) {
+            addBig(balance);
+        } else if (balance.scale() == 0) {
+            add(balance.longValue(), 0);
+        } else {
+            add(balance.unscaledValue().longValue(), balance.scale());
+        }
+    }
+
+    void add(long unscaled, int valueScale) {
+        if (bigSum != null) {
+            bigSum = bigSum.add(BigDecimal.valueOf(unscaled, valueScale));
+        } else if (scale == NO_SCALE) {
+            unscaledSum = unscaled;
+            scale = valueScale;
+        } else {
+            try {
+                if (valueScale > scale) {
+                    unscaledSum = rescale(unscaledSum, valueScale - scale);
+                    scale = valueScale;
+                }
+                unscaledSum = Math.addExact(unscaledSum, rescale(unscaled, scale - valueScale));
+            } catch (ArithmeticException e) {
+                addBig(BigDecimal.valueOf(unscaled, valueScale));
+            }
+        }
+    }
+
+    private static long rescale(long unscaled, int scaleIncrease) {
+        if (scaleIncrease >= POWERS_OF_TEN.length) {
+            throw new ArithmeticException("Scale difference is too large");
+        }
+        return Math.multiplyExact(unscaled, POWERS_OF_TEN[scaleIncrease]);
+    }
+
+    private void addBig(BigDecimal balance) {
+        if (bigSum == null) {
+            bigSum = scale == NO_SCALE ? balance : BigDecimal.valueOf(unscaledSum, scale).add(balance);
+        } else {
+            bigSum = bigSum.add(balance);
+        }
+    }
+
+    BalanceAccumulator merge(BalanceAccumulator other) {
+        if (other.bigSum != null) {
+            addBig(other.bigSum);
+        } else if (other.scale != NO_SCALE) {
+            add(other.unscaledSum, other.scale);
+        }
+        return this;
+    }
+
+    BigDecimal sum() {
+        if (bigSum != null) {
+            return bigSum;
+        }
+        return scale == NO_SCALE ? BigDecimal.ZERO : BigDecimal.valueOf(unscaledSum, scale);
+    }
+}
@@ -0,0 +1,185 @@
+package ua.procamp;
+
+import java.util.Arrays;
+
+/**
+ * {@link BalanceSketch} is a streaming quantile sketch of balances with a relative error guarantee. Values are
+ * counted in logarithmic buckets: a bucket with index {@code i} holds values from {@code gamma^(i-1)} to
+ * {@code gamma^i}, where {@code gamma = (1 + accuracy) / (1 - accuracy)}, so any value returned by
+ * {@link BalanceSketch#getQuantile(double)} differs from the exact quantile by at most {@code accuracy} of its
+ * magnitude. The sketch takes a single pass, its size depends only on the range of values, and two sketches with the
+ * same accuracy can be merged, which makes it suitable for parallel streams.
+ */
+public final class BalanceSketch {
+    private static final int INITIAL_CAPACITY = 64;
+
+    private final double relativeAccuracy;
+    private final double logGamma;
+    private final Buckets positive = new Buckets();
+    private final Buckets negative = new Buckets();
+    private long zeroCount;
+    private long count;
+    private double min = Double.POSITIVE_INFINITY;
+    private double max = Double.NEGATIVE_INFINITY;
+
+    /**
+     * Creates an empty sketch.
+     *
+     * @param relativeAccuracy max relative error of quantiles, between 0 and 1 exclusive (e.g. 0.01 for 1%)
+     */
+    public BalanceSketch(double relativeAccuracy) {
+        if (!(relativeAccuracy > 0 && relativeAccuracy < 1)) {
+            throw new IllegalArgumentException("Relative accuracy must be between 0 and 1: " + relativeAccuracy);
+        }
+        this.relativeAccuracy = relativeAccuracy;
+        this.logGamma = Math.log((1 + relativeAccuracy) / (1 - relativeAccuracy));
+    }
+
+    /**
+     * Adds a value to the sketch.
+     *
+     * @param value a balance
+     */
+    public void add(double value) {
+        if (value > Double.MIN_NORMAL) {
+            positive.increment(bucketIndex(value), 1);
+        } else if (value < -Double.MIN_NORMAL) {
+            negative.increment(bucketIndex(-value), 1);
+        } else {
+            zeroCount++;
+        }
+        count++;
+        min = Math.min(min, value);
+        max = Math.max(max, value);
+    }
+
+    /**
+     * Adds all values of another sketch with the same accuracy to this one.
+     *
+     * @param other another sketch
+     * @return this sketch
+     */
+    public BalanceSketch merge(BalanceSketch other) {
+        if (other.relativeAccuracy != relativeAccuracy) {
+            throw new IllegalArgumentException("Cannot merge sketches with different accuracy");
+        }
+        positive.addAll(other.positive);
+        negative.addAll(other.negative);
+        zeroCount += other.zeroCount;
+        count += other.count;
+        min = Math.min(min, other.min);
+        max = Math.max(max, other.max);
+        return this;
+    }
+
+    /**
+     * Returns an approximate quantile, e.g. 0.5 for the median or 0.99 for the 99th percentile. The smallest and the
+     * largest values are exact.
+     *
+     * @param quantile a quantile from 0 to 1
+     * @return an approximate value of the quantile, or {@link Double#NaN} if the sketch is empty
+     */
+    public double getQuantile(double quantile) {
+        if (!(quantile >= 0 && quantile <= 1)) {
+            throw new IllegalArgumentException("Quantile must be between 0 and 1: " + quantile);
+        }
+        if (count == 0) {
+            return Double.NaN;
+        }
+        long rank = (long) (quantile * (count - 1));
+        if (rank == 0) {
+            return min;
+        }
+        if (rank == count - 1) {
+            return max;
+        }
+        double value;
+        if (rank < negative.total) {
+            value = -bucketValue(negative.indexFromEnd(rank));
+        } else if (rank < negative.total + zeroCount) {
+            value = 0;
+        } else {
+            value = bucketValue(positive.indexFromStart(rank - negative.total - zeroCount));
+        }
+        return Math.max(min, Math.min(max, value));
+    }
+
+    public long getCount() {
+        return count;
+    }
+
+    public double getRelativeAccuracy() {
+        return relativeAccuracy;
+    }
+
+    private int bucketIndex(double value) {
+        return (int) Math.ceil(Math.log(value) / logGamma);
+    }
+
+    /**
+     * Returns a value in the middle of the bucket, which is within relative accuracy from any value in it.
+     */
+    private double bucketValue(int index) {
+        return 2 * Math.exp(index * logGamma) / (1 + Math.exp(logGamma));
+    }
+
+    /**
+     * Bucket counters indexed from {@code offset}. The array grows in both directions when needed.
+     */
+    private static final class Buckets {
+        private long[] counts = new long[0];
+        private int offset;
+        private long total;
+
+        void increment(int index, long delta) {
+            ensureIndex(index);
+            counts[index - offset] += delta;
+            total += delta;
+        }
+
+        void addAll(Buckets other) {
+            for (int i = 0; i < other.counts.length; i++) {
+                if (other.counts[i] != 0) {
+                    increment(other.offset + i, other.counts[i]);
+                }
+            }
+        }
+
+        int indexFromStart(long rank) {
+            long seen = 0;
+            for (int i = 0; i < counts.length; i++) {
+                seen += counts[i];
+                if (seen > rank) {
+                    return offset + i;
+                }
+            }
+            throw new IllegalStateException("Rank is out of range: " + rank);
+        }
+
+        int indexFromEnd(long rank) {
+            long seen = 0;
+            for (int i = counts.length - 1; i >= 0; i--) {
+                seen += counts[i];
+                if (seen > rank) {
+                    return offset + i;
+                }
+            }
+            throw new IllegalStateException("Rank is out of range: " + rank);
+        }
+
+        private void ensureIndex(int index) {
+            if (counts.length == 0) {
+                counts = new long[INITIAL_CAPACITY];
+                offset = index - INITIAL_CAPACITY / 2;
+            } else if (index < offset) {
+                int newOffset = Math.min(index, offset - counts.length);
+                long[] grown = new long[counts.length + offset - newOffset];
+                System.arraycopy(counts, 0, grown, offset - newOffset, counts.length);
+                counts = grown;
+                offset = newOffset;
+            } else if (index >= offset + counts.length) {
+                counts = Arrays.copyOf(counts, Math.max(index - offset + 1, counts.length * 2));
+            }
+        }
+    }
+}
@@ -0,0 +1,130 @@
+package ua.procamp;
+
+import java.util.HashMap;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+import java.util.stream.Collector;
+
+/**
+ * {@link CharacterHistogram} counts Unicode code points in primitive {@code long} counters. Counters are grouped into
+ * pages of 256 code points, a page is allocated when the first code point from its range is counted, so a histogram
+ * of Latin names takes one page. Code points beyond the Basic Multilingual Plane are counted as single values.
+ */
+final class CharacterHistogram {
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int PAGE_COUNT = (Character.MAX_CODE_POINT + 1) >>> PAGE_BITS;
+
+    private final long[][] pages = new long[PAGE_COUNT][];
+
+    /**
+     * Returns a collector that counts code points with a histogram per thread and merges histograms at the end.
+     *
+     * @param accumulator a function that adds code points of an element to the histogram
+     * @param <T>         element type
+     * @return a collector that produces a histogram
+     */
+    static <T> Collector<T, CharacterHistogram, CharacterHistogram> counting(
+            BiConsumer<CharacterHistogram, T> accumulator) {
+        return Collector.of(CharacterHistogram::new, accumulator, CharacterHistogram::merge,
+                Collector.Characteristics.IDENTITY_FINISH);
+    }
+
+    /**
+     * Adds a weight to the counter of every code point of the value. In lower case, the value is counted as
+     * {@link String#toLowerCase(Locale)} with {@link Locale#ROOT} converts it, so a final sigma becomes '\u03c2' and
+     * '\u0130' becomes two chars. ASCII values are converted by code point without copying them.
+     *
+     * @param value      characters to count
+     * @param weight     a number to add, may be negative
+     * @param ignoreCase {@code true} if code points should be counted in lower case
+     */
+    void add(CharSequence value, long weight, boolean ignoreCase) {
+        if (ignoreCase && !isAscii(value)) {
+            value = value.toString().toLowerCase(Locale.ROOT);
+            ignoreCase = false;
+        }
+        int length = value.length();
+        int i = 0;
+        while (i < length) {
+            char high = value.charAt(i++);
+            int codePoint = high;
+            if (Character.isHighSurrogate(high) && i < length && Character.isLowSurrogate(value.charAt(i))) {
+                codePoint = Character.toCodePoint(high, value.charAt(i++));
+            }
+            add(ignoreCase ? Character.toLowerCase(codePoint) : codePoint, weight);
+        }
+    }
+
+    private static boolean isAscii(CharSequence value) {
+        for (int i = 0; i < value.length(); i++) {
+            if (value.charAt(i) >= 0x80) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    void add(int codePoint, long weight) {
+        long[] page = pages[codePoint >>> PAGE_BITS];
+        if (page == null) {
+            page = pages[codePoint >>> PAGE_BITS] = new long[PAGE_SIZE];
+        }
+        page[codePoint & PAGE_MASK] += weight;
+    }
+
+    long count(int codePoint) {
+        long[] page = pages[codePoint >>> PAGE_BITS];
+        return page == null ? 0 : page[codePoint & PAGE_MASK];
+    }
+
+    CharacterHistogram merge(CharacterHistogram other) {
+        for (int pageIndex = 0; pageIndex < PAGE_COUNT; pageIndex++) {
+            long[] otherPage = other.pages[pageIndex];
+            if (otherPage == null) {
+                continue;
+            }
+            if (pages[pageIndex] == null) {
+                pages[pageIndex] = otherPage.clone();
+            } else {
+                long[] page = pages[pageIndex];
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    page[i] += otherPage[i];
+                }
+            }
+        }
+        return this;
+    }
+
+    /**
+     * Returns non-zero counters by {@link Character}. A code point beyond the Basic Multilingual Plane does not fit
+     * into a single {@link Character}, so it is counted as its high and low surrogates, the same way as
+     * {@link String#charAt(int)} sees it.
+     *
+     * @return a map where key is a character and value is its count
+     */
+    Map<Character, Long> toCharacterMap() {
+        Map<Character, Long> frequency = new HashMap<>();
+        for (int pageIndex = 0; pageIndex < PAGE_COUNT; pageIndex++) {
+            long[] page = pages[pageIndex];
+            if (page == null) {
+                continue;
+            }
+            for (int i = 0; i < PAGE_SIZE; i++) {
+                if (page[i] == 0) {
+                    continue;
+                }
+                int codePoint = pageIndex << PAGE_BITS | i;
+                if (Character.isBmpCodePoint(codePoint)) {
+                    frequency.merge((char) codePoint, page[i], Long::sum);
+                } else {
+                    frequency.merge(Character.highSurrogate(codePoint), page[i], Long::sum);
+                    frequency.merge(Character.lowSurrogate(codePoint), page[i], Long::sum);
+                }
+            }
+        }
+        return frequency;
+    }
+}
@@ -0,0 +1,297 @@
+package ua.procamp;
+
+import static java.util.stream.Collectors.groupingBy;
+import static java.util.stream.Collectors.joining;
+import static java.util.stream.Collectors.mapping;
+import static java.util.stream.Collectors.partitioningBy;
+import static java.util.stream.Collectors.toList;
+import static java.util.stream.Collectors.toMap;
+import static java.util.stream.Collectors.toSet;
+
+import ua.procamp.exception.EntityNotFoundException;
+import ua.procamp.model.Account;
+
+import java.math.BigDecimal;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.function.IntUnaryOperator;
+import java.util.stream.IntStream;
+
+/**
+ * {@link ColumnarAccountAnalytics} answers {@link AccountAnalytics} queries from {@link AccountColumns}. Filtering,
+ * grouping and sorting work with primitive columns and dictionary codes, {@link Account} instances are created only
+ * for the accounts that are returned.
+ */
+final class ColumnarAccountAnalytics extends AccountAnalytics {
+    private static final int ROW_BITS = 31;
+
+    private final AccountColumns columns;
+    private final Lazy<Map<String, Integer>> emailRowIndex = new Lazy<>(this::buildEmailRowIndex);
+
+    ColumnarAccountAnalytics(AccountColumns columns) {
+        this(columns, null);
+    }
+
+    private ColumnarAccountAnalytics(AccountColumns columns, ForkJoinPool pool) {
+        super(columns.asList(), pool);
+        this.columns = columns;
+    }
+
+    @Override
+    public AccountAnalytics withExecutor(ForkJoinPool pool) {
+        return new ColumnarAccountAnalytics(columns, Objects.requireNonNull(pool));
+    }
+
+    private IntStream rows() {
+        IntStream rows = IntStream.range(0, columns.size());
+        return isParallel() ? rows.parallel() : rows;
+    }
+
+    @Override
+    public Optional<Account> findRichestPerson() {
+        return run(() -> optionalAccount(rows()
+                .reduce((row, otherRow) -> columns.compareBalances(row, otherRow) >= 0 ? row : otherRow)
+                .orElse(-1)));
+    }
+
+    private Optional<Account> optionalAccount(int row) {
+        return row < 0 ? Optional.empty() : Optional.of(columns.account(row));
+    }
+
+    @Override
+    public List<Account> findRichestPersons(int n) {
+        return run(() -> rows().boxed()
+                .collect(TopK.collector(n, columns::compareBalances))
+                .stream()
+                .map(columns::account)
+                .collect(toList()));
+    }
+
+    @Override
+    public BalanceSketch summarizeBalances(double relativeAccuracy) {
+        return run(() -> rows().collect(() -> new BalanceSketch(relativeAccuracy),
+                (sketch, row) -> sketch.add(columns.balanceAsDouble(row)),
+                BalanceSketch::merge));
+    }
+
+    @Override
+    public long[] countAccountsByBalanceRanges(BigDecimal... boundaries) {
+        checkBoundaries(boundaries);
+        return run(() -> rows().collect(() -> new long[boundaries.length + 1],
+                (counts, row) -> counts[balanceRange(boundaries, columns.balance(row))]++,
+                (counts, otherCounts) -> Arrays.setAll(counts, i -> counts[i] + otherCounts[i])));
+    }
+
+    @Override
+    public List<Account> findAccountsByBirthdayMonth(Month birthdayMonth) {
+        return run(() -> rows()
+                .filter(row -> columns.birthdayMonth(row) == birthdayMonth)
+                .mapToObj(columns::account)
+                .collect(toList()));
+    }
+
+    @Override
+    public Map<Boolean, List<Account>> partitionMaleAccounts() {
+        return run(() -> rows().boxed()
+                .collect(partitioningBy(columns::isMale, mapping(columns::account, toList()))));
+    }
+
+    @Override
+    public Map<String, List<Account>> groupAccountsByEmailDomain() {
+        return run(() -> rows().boxed()
+                .collect(groupingBy(columns::emailDomain, mapping(columns::account, toList()))));
+    }
+
+    @Override
+    public int getNumOfLettersInFirstAndLastNames() {
+        return run(() -> rows()
+                .map(row -> columns.firstName(row).length() + columns.lastName(row).length())
+                .sum());
+    }
+
+    @Override
+    public BigDecimal calculateTotalBalance() {
+        return run(() -> rows()
+                .collect(() -> new BalanceAccumulator(false), this::addBalance, BalanceAccumulator::merge)
+                .sum());
+    }
+
+    /**
+     * Dictionary codes follow the natural string order, so sorting by codes gives the same order as sorting by
+     * names. Sequential mode uses two stable counting sorts: by last name, and then by first name. Parallel mode packs
+     * the name codes and the row into a single {@code long} and sorts them with {@link Arrays#parallelSort(long[])}
+     * when they fit; the row in the lowest bits keeps the sort stable.
+     */
+    @Override
+    public List<Account> sortByFirstAndLastNames() {
+        return run(() -> Arrays.stream(sortedRowsByFirstAndLastNames())
+                .mapToObj(columns::account)
+                .collect(toList()));
+    }
+
+    private int[] sortedRowsByFirstAndLastNames() {
+        long lastNameCount = columns.lastNames().size();
+        long nameKeyCount = columns.firstNames().size() * lastNameCount;
+        if (isParallel() && nameKeyCount <= 1L << (Long.SIZE - 1 - ROW_BITS)) {
+            long[] keys = rows()
+                    .mapToLong(row -> (columns.firstNameCode(row) * lastNameCount + columns.lastNameCode(row))
+                            << ROW_BITS | row)
+                    .toArray();
+            Arrays.parallelSort(keys);
+            return Arrays.stream(keys).parallel().mapToInt(key -> (int) (key & Integer.MAX_VALUE)).toArray();
+        }
+        int[] byLastName = countingSort(IntStream.range(0, columns.size()).toArray(), columns::lastNameCode,
+                columns.lastNames().size());
+        return countingSort(byLastName, columns::firstNameCode, columns.firstNames().size());
+    }
+
+    private static int[] countingSort(int[] rows, IntUnaryOperator code, int codeCount) {
+        int[] offsets = new int[codeCount + 1];
+        for (int row : rows) {
+            offsets[code.applyAsInt(row) + 1]++;
+        }
+        for (int i = 1; i < offsets.length; i++) {
+            offsets[i] += offsets[i - 1];
+        }
+        int[] sorted = new int[rows.length];
+        for (int row : rows) {
+            sorted[offsets[code.applyAsInt(row)]++] = row;
+        }
+        return sorted;
+    }
+
+    /**
+     * The email domain dictionary already holds distinct domains, so the index is built without scanning rows.
+     */
+    @Override
+    EmailDomainIndex buildEmailDomainIndex() {
+        StringDictionary domains = columns.emailDomains();
+        return EmailDomainIndex.of(IntStream.range(0, domains.size()).mapToObj(domains::get));
+    }
+
+    @Override
+    public BigDecimal getBalanceByEmail(String email) {
+        Integer row = emailRowIndex.get().get(email);
+        if (row == null) {
+            throw new EntityNotFoundException(String.format("Cannot find Account by email=%s", email));
+        }
+        return columns.balance(row);
+    }
+
+    private Map<String, Integer> buildEmailRowIndex() {
+        return run(() -> rows().boxed()
+                .collect(toMap(columns::email, Function.identity(), (first, second) -> first)));
+    }
+
+    @Override
+    Map<Long, Account> buildIdIndex() {
+        return Collections.unmodifiableMap(run(() -> rows()
+                .mapToObj(columns::account)
+                .collect(toMap(Account::getId, Function.identity()))));
+    }
+
+    @Override
+    public Map<String, BigDecimal> collectBalancesByIdForAccountsCreatedOn(int year) {
+        return run(() -> rows()
+                .filter(row -> columns.creationYear(row) == year)
+                .boxed()
+                .collect(toMap(columns::email, columns::balance)));
+    }
+
+    @Override
+    public Map<String, Set<String>> groupFirstNamesByLastNames() {
+        return run(() -> rows().boxed()
+                .collect(groupingBy(columns::lastName, mapping(columns::firstName, toSet()))));
+    }
+
+    @Override
+    public Map<Month, String> groupCommaSeparatedFirstNamesByBirthdayMonth() {
+        return run(() -> rows().boxed()
+                .collect(groupingBy(columns::birthdayMonth, mapping(columns::firstName, joining(", ")))));
+    }
+
+    private void addBalance(BalanceAccumulator accumulator, int row) {
+        accumulator.add(columns.balanceUnscaled(row), columns.balanceScale(row));
+    }
+
+    /**
+     * Sums balances into an accumulator per creation month, without boxing rows or creating {@link BigDecimal}
+     * values.
+     */
+    @Override
+    public Map<Month, BigDecimal> groupTotalBalanceByCreationMonth() {
+        BalanceAccumulator[] accumulators = run(() -> rows().collect(
+                () -> new BalanceAccumulator[Month.values().length],
+                (monthAccumulators, row) -> addBalance(monthAccumulator(monthAccumulators,
+                        columns.creationMonth(row)), row),
+                (monthAccumulators, otherMonthAccumulators) -> {
+                    for (Month month : Month.values()) {
+                        BalanceAccumulator other = otherMonthAccumulators[month.ordinal()];
+                        if (other != null) {
+                            monthAccumulator(monthAccumulators, month).merge(other);
+                        }
+                    }
+                }));
+        Map<Month, BigDecimal> totals = new HashMap<>();
+        for (Month month : Month.values()) {
+            if (accumulators[month.ordinal()] != null) {
+                totals.put(month, accumulators[month.ordinal()].sum());
+            }
+        }
+        return totals;
+    }
+
+    private static BalanceAccumulator monthAccumulator(BalanceAccumulator[] accumulators, Month month) {
+        BalanceAccumulator accumulator = accumulators[month.ordinal()];
+        if (accumulator == null) {
+            accumulator = accumulators[month.ordinal()] = new BalanceAccumulator(true);
+        }
+        return accumulator;
+    }
+
+    /**
+     * Counts how many times every first name occurs, and then counts characters once per distinct name.
+     */
+    @Override
+    public Map<Character, Long> getCharacterFrequencyInFirstNames() {
+        CharacterHistogram histogram = new CharacterHistogram();
+        countCharacters(columns.firstNames(), countCodes(columns::firstNameCode, columns.firstNames()), false,
+                histogram);
+        return histogram.toCharacterMap();
+    }
+
+    @Override
+    public Map<Character, Long> getCharacterFrequencyIgnoreCaseInFirstAndLastNames() {
+        CharacterHistogram histogram = new CharacterHistogram();
+        countCharacters(columns.firstNames(), countCodes(columns::firstNameCode, columns.firstNames()), true,
+                histogram);
+        countCharacters(columns.lastNames(), countCodes(columns::lastNameCode, columns.lastNames()), true,
+                histogram);
+        return histogram.toCharacterMap();
+    }
+
+    private long[] countCodes(IntUnaryOperator code, StringDictionary dictionary) {
+        return run(() -> rows().collect(
+                () -> new long[dictionary.size()],
+                (counts, row) -> counts[code.applyAsInt(row)]++,
+                (counts, otherCounts) -> Arrays.setAll(counts, i -> counts[i] + otherCounts[i])));
+    }
+
+    private static void countCharacters(StringDictionary dictionary, long[] counts, boolean ignoreCase,
+                                        CharacterHistogram histogram) {
+        for (int code = 0; code < counts.length; code++) {
+            if (counts[code] != 0) {
+                histogram.add(dictionary.get(code), counts[code], ignoreCase);
+            }
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ua.procamp;
+
+import java.util.NavigableSet;
+import java.util.TreeSet;
+import java.util.stream.Stream;
+
+/**
+ * {@link EmailDomainIndex} keeps distinct email domains reversed in a sorted set. A domain suffix becomes a prefix of
+ * a reversed domain, so a suffix check is a single {@link NavigableSet#ceiling(Object)} lookup in O(log n). Domains
+ * can be added and removed in O(log n) too.
+ */
+final class EmailDomainIndex {
+    private final NavigableSet<String> reversedDomains;
+
+    private EmailDomainIndex(NavigableSet<String> reversedDomains) {
+        this.reversedDomains = reversedDomains;
+    }
+
+    static EmailDomainIndex of(Stream<String> domains) {
+        NavigableSet<String> reversedDomains = new TreeSet<>();
+        domains.map(EmailDomainIndex::reverse).forEach(reversedDomains::add);
+        return new EmailDomainIndex(reversedDomains);
+    }
+
+    void add(String domain) {
+        reversedDomains.add(reverse(domain));
+    }
+
+    void remove(String domain) {
+        reversedDomains.remove(reverse(domain));
+    }
+
+    /**
+     * Checks if there is a domain that equals to or ends with the provided one (e.g. "mail.com" matches "gmail.com").
+     *
+     * @param domainSuffix a domain or its suffix
+     * @return {@code true} if at least one domain ends with the provided suffix
+     */
+    boolean containsDomainEndingWith(String domainSuffix) {
+        String reversedSuffix = reverse(domainSuffix);
+        String candidate = reversedDomains.ceiling(reversedSuffix);
+        return candidate != null && candidate.startsWith(reversedSuffix);
+    }
+
+    private static String reverse(String value) {
+        return new StringBuilder(value).reverse().toString();
+    }
+}
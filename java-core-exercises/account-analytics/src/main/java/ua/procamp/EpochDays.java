@@ -0,0 +1,54 @@
+package ua.procamp;
+
+/**
+ * Converts epoch days into calendar fields without creating {@link java.time.LocalDate} instances. The arithmetic
+ * follows the proleptic Gregorian calendar used by {@link java.time.LocalDate#ofEpochDay(long)}.
+ */
+final class EpochDays {
+    private static final int DAYS_0000_TO_1970 = 719468;
+    private static final int DAYS_PER_CYCLE = 146097;
+
+    private EpochDays() {
+    }
+
+    /**
+     * Returns a month-of-year from 1 (January) to 12 (December).
+     *
+     * @param epochDay number of days since 1970-01-01
+     * @return month-of-year
+     */
+    static int month(int epochDay) {
+        int marchBasedMonth = marchBasedMonth(dayOfEra(epochDay));
+        return marchBasedMonth < 10 ? marchBasedMonth + 3 : marchBasedMonth - 9;
+    }
+
+    /**
+     * Returns a year.
+     *
+     * @param epochDay number of days since 1970-01-01
+     * @return year
+     */
+    static int year(int epochDay) {
+        long zeroDay = (long) epochDay + DAYS_0000_TO_1970;
+        long era = Math.floorDiv(zeroDay, DAYS_PER_CYCLE);
+        int dayOfEra = (int) (zeroDay - era * DAYS_PER_CYCLE);
+        int yearOfEra = yearOfEra(dayOfEra);
+        int month = month(epochDay);
+        return (int) (era * 400 + yearOfEra + (month <= 2 ? 1 : 0));
+    }
+
+    private static int dayOfEra(int epochDay) {
+        long zeroDay = (long) epochDay + DAYS_0000_TO_1970;
+        return (int) Math.floorMod(zeroDay, (long) DAYS_PER_CYCLE);
+    }
+
+    private static int yearOfEra(int dayOfEra) {
+        return (dayOfEra - dayOfEra / 1460 + dayOfEra / 36524 - dayOfEra / 146096) / 365;
+    }
+
+    private static int marchBasedMonth(int dayOfEra) {
+        int yearOfEra = yearOfEra(dayOfEra);
+        int dayOfYear = dayOfEra - (365 * yearOfEra + yearOfEra / 4 - yearOfEra / 100);
+        return (5 * dayOfYear + 2) / 153;
+    }
+}
@@ -0,0 +1,163 @@
+package ua.procamp;
+
+import ua.procamp.model.Account;
+
+import java.math.BigDecimal;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.Objects;
+import java.util.Set;
+
+/**
+ * {@link HeapAccountColumns} stores {@link AccountColumns} in primitive on-heap arrays.
+ */
+final class HeapAccountColumns extends AccountColumns {
+    private final long[] ids;
+    private final int[] firstNameCodes;
+    private final int[] lastNameCodes;
+    private final String[] emailPrefixes;
+    private final int[] emailDomainCodes;
+    private final long[] balances;
+    private final byte[] balanceScales;
+    private final int[] birthdays;
+    private final int[] creationDates;
+    private final byte[] sexes;
+    private final StringDictionary firstNames;
+    private final StringDictionary lastNames;
+    private final StringDictionary emailDomains;
+
+    private HeapAccountColumns(int size, StringDictionary firstNames, StringDictionary lastNames,
+                               StringDictionary emailDomains) {
+        this.ids = new long[size];
+        this.firstNameCodes = new int[size];
+        this.lastNameCodes = new int[size];
+        this.emailPrefixes = new String[size];
+        this.emailDomainCodes = new int[size];
+        this.balances = new long[size];
+        this.balanceScales = new byte[size];
+        this.birthdays = new int[size];
+        this.creationDates = new int[size];
+        this.sexes = new byte[size];
+        this.firstNames = firstNames;
+        this.lastNames = lastNames;
+        this.emailDomains = emailDomains;
+    }
+
+    static HeapAccountColumns from(Collection<Account> accounts) {
+        Set<String> firstNames = new HashSet<>();
+        Set<String> lastNames = new HashSet<>();
+        Set<String> emailDomains = new HashSet<>();
+        for (Account account : accounts) {
+            firstNames.add(Objects.requireNonNull(account.getFirstName(), "Account first name is required"));
+            lastNames.add(Objects.requireNonNull(account.getLastName(), "Account last name is required"));
+            emailDomains.add(domainOf(Objects.requireNonNull(account.getEmail(), "Account email is required")));
+        }
+
+        HeapAccountColumns columns = new HeapAccountColumns(accounts.size(), StringDictionary.of(firstNames),
+                StringDictionary.of(lastNames), StringDictionary.of(emailDomains));
+        int row = 0;
+        for (Account account : accounts) {
+            columns.set(row++, account);
+        }
+        return columns;
+    }
+
+    private void set(int row, Account account) {
+        String email = account.getEmail();
+        BigDecimal balance = Objects.requireNonNull(account.getBalance(), "Account balance is required");
+
+        ids[row] = account.getId() == null ? NO_ID : account.getId();
+        firstNameCodes[row] = firstNames.indexOf(account.getFirstName());
+        lastNameCodes[row] = lastNames.indexOf(account.getLastName());
+        emailPrefixes[row] = email.substring(0, email.indexOf('@') + 1);
+        emailDomainCodes[row] = emailDomains.indexOf(domainOf(email));
+        balances[row] = balance.unscaledValue().longValueExact();
+        balanceScales[row] = toByteScale(balance.scale());
+        birthdays[row] = Math.toIntExact(
+                Objects.requireNonNull(account.getBirthday(), "Account birthday is required").toEpochDay());
+        creationDates[row] = Math.toIntExact(
+                Objects.requireNonNull(account.getCreationDate(), "Account creation date is required").toEpochDay());
+        sexes[row] = (byte) Objects.requireNonNull(account.getSex(), "Account sex is required").ordinal();
+    }
+
+    private static String domainOf(String email) {
+        return email.substring(email.indexOf('@') + 1);
+    }
+
+    private static byte toByteScale(int scale) {
+        if (scale < Byte.MIN_VALUE || scale > Byte.MAX_VALUE) {
+            throw new ArithmeticException("Balance scale is out of range: " + scale);
+        }
+        return (byte) scale;
+    }
+
+    @Override
+    public int size() {
+        return ids.length;
+    }
+
+    @Override
+    public long id(int row) {
+        return ids[row];
+    }
+
+    @Override
+    public int firstNameCode(int row) {
+        return firstNameCodes[row];
+    }
+
+    @Override
+    public int lastNameCode(int row) {
+        return lastNameCodes[row];
+    }
+
+    @Override
+    public String emailPrefix(int row) {
+        return emailPrefixes[row];
+    }
+
+    @Override
+    public int emailDomainCode(int row) {
+        return emailDomainCodes[row];
+    }
+
+    @Override
+    public long balanceUnscaled(int row) {
+        return balances[row];
+    }
+
+    @Override
+    public int balanceScale(int row) {
+        return balanceScales[row];
+    }
+
+    @Override
+    public int birthdayEpochDay(int row) {
+        return birthdays[row];
+    }
+
+    @Override
+    public int creationEpochDay(int row) {
+        return creationDates[row];
+    }
+
+    @Override
+    public byte sex(int row) {
+        return sexes[row];
+    }
+
+    @Override
+    public StringDictionary firstNames() {
+        return firstNames;
+    }
+
+    @Override
+    public StringDictionary lastNames() {
+        return lastNames;
+    }
+
+    @Override
+    public StringDictionary emailDomains() {
+        return emailDomains;
+    }
+}
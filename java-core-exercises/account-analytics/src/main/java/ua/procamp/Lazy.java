@@ -0,0 +1,33 @@
+package ua.procamp;
+
+import java.util.function.Supplier;
+
+/**
+ * {@link Lazy} computes a value on the first {@link Lazy#get()} call and returns the same value afterwards. It is
+ * safe to use from multiple threads, the value is computed once. If computation throws an exception, nothing is
+ * stored and the next call tries again.
+ *
+ * @param <T> value type
+ */
+final class Lazy<T> implements Supplier<T> {
+    private final Supplier<T> supplier;
+    private volatile T value;
+
+    Lazy(Supplier<T> supplier) {
+        this.supplier = supplier;
+    }
+
+    @Override
+    public T get() {
+        T result = value;
+        if (result == null) {
+            synchronized (this) {
+                result = value;
+                if (result == null) {
+                    value = result = supplier.get();
+                }
+            }
+        }
+        return result;
+    }
+}
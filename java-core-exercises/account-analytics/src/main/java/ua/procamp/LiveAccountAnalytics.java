@@ -0,0 +1,266 @@
+package ua.procamp;
+
+import static java.util.stream.Collectors.toMap;
+
+import ua.procamp.exception.EntityNotFoundException;
+import ua.procamp.model.Account;
+import ua.procamp.model.Sex;
+
+import java.math.BigDecimal;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumMap;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Function;
+import java.util.stream.Stream;
+
+/**
+ * {@link LiveAccountAnalytics} is {@link AccountAnalytics} over a changing set of accounts. Accounts are identified by
+ * email. Every {@link LiveAccountAnalytics#add(Account)}, {@link LiveAccountAnalytics#update(Account)} and
+ * {@link LiveAccountAnalytics#remove(String)} event updates running aggregates in constant time, so the following
+ * queries read the current state without scanning accounts:
+ * <ul>
+ * <li>{@link #calculateTotalBalance()} and {@link #groupTotalBalanceByCreationMonth()}</li>
+ * <li>{@link #partitionMaleAccounts()} and {@link #groupAccountsByEmailDomain()}</li>
+ * <li>{@link #groupFirstNamesByLastNames()} and {@link #getNumOfLettersInFirstAndLastNames()}</li>
+ * <li>{@link #getCharacterFrequencyInFirstNames()} and
+ * {@link #getCharacterFrequencyIgnoreCaseInFirstAndLastNames()}</li>
+ * <li>{@link #getBalanceByEmail(String)} and {@link #containsAccountWithEmailDomain(String)}</li>
+ * </ul>
+ * {@link #collectAccountsById()} is rebuilt on the first call after an event. Other queries scan the current accounts.
+ * An update is a removal followed by an addition, so the updated account moves to the end of the encounter order.
+ * Accounts must not be modified after they are passed to analytics, send an update with a new instance instead.
+ * <p>
+ * This class is not thread-safe.
+ */
+public class LiveAccountAnalytics extends AccountAnalytics {
+    private final Map<String, Account> accountsByEmail;
+    private final Map<Boolean, Map<String, Account>> accountsByMale = new HashMap<>(2);
+    private final Map<String, Map<String, Account>> accountsByEmailDomain = new HashMap<>();
+    private final EmailDomainIndex emailDomainIndex = EmailDomainIndex.of(Stream.empty());
+    private final Map<String, Map<String, Integer>> firstNameCountsByLastName = new HashMap<>();
+    private final RunningBalance totalBalance = new RunningBalance(false);
+    private final Map<Month, RunningBalance> balanceByCreationMonth = new EnumMap<>(Month.class);
+    private final CharacterHistogram firstNameCharacters = new CharacterHistogram();
+    private final CharacterHistogram lowerCaseNameCharacters = new CharacterHistogram();
+    private int numOfLettersInFirstAndLastNames;
+    private Map<Long, Account> accountsById;
+
+    private LiveAccountAnalytics(Map<String, Account> accountsByEmail) {
+        super(accountsByEmail.values());
+        this.accountsByEmail = accountsByEmail;
+        accountsByMale.put(Boolean.TRUE, new LinkedHashMap<>());
+        accountsByMale.put(Boolean.FALSE, new LinkedHashMap<>());
+    }
+
+    /**
+     * Creates empty live analytics.
+     *
+     * @return new live analytics
+     */
+    public static LiveAccountAnalytics create() {
+        return new LiveAccountAnalytics(new LinkedHashMap<>());
+    }
+
+    /**
+     * Creates live analytics and adds all provided accounts.
+     *
+     * @param accounts initial accounts
+     * @return new live analytics
+     */
+    public static LiveAccountAnalytics of(Collection<Account> accounts) {
+        LiveAccountAnalytics analytics = create();
+        accounts.forEach(analytics::add);
+        return analytics;
+    }
+
+    /**
+     * Adds a new account. Throws {@link IllegalArgumentException} if there is an account with the same email, and
+     * {@link NullPointerException} if the email, a name, sex, balance or creation date is missing. A rejected account
+     * leaves analytics unchanged.
+     *
+     * @param account account to add
+     */
+    public void add(Account account) {
+        String email = requireValid(account);
+        if (accountsByEmail.containsKey(email)) {
+            throw new IllegalArgumentException(String.format("Account with email=%s already exists", email));
+        }
+        accountsByEmail.put(email, account);
+        accountsById = null;
+        accountsByMale.get(account.getSex().equals(Sex.MALE)).put(email, account);
+        String emailDomain = emailDomainOf(email);
+        accountsByEmailDomain.computeIfAbsent(emailDomain, domain -> {
+            emailDomainIndex.add(domain);
+            return new LinkedHashMap<>();
+        }).put(email, account);
+        firstNameCountsByLastName.computeIfAbsent(account.getLastName(), lastName -> new HashMap<>())
+                .merge(account.getFirstName(), 1, Integer::sum);
+        totalBalance.add(account.getBalance());
+        balanceByCreationMonth.computeIfAbsent(account.getCreationDate().getMonth(), month -> new RunningBalance(true))
+                .add(account.getBalance());
+        countCharacters(account, 1);
+        numOfLettersInFirstAndLastNames += account.getFirstName().length() + account.getLastName().length();
+    }
+
+    /**
+     * Replaces an account that has the same email. Throws {@link EntityNotFoundException} if there is no such account.
+     * A new state that {@link #add(Account)} rejects leaves the old account in place.
+     *
+     * @param account a new state of the account
+     */
+    public void update(Account account) {
+        remove(requireValid(account));
+        add(account);
+    }
+
+    /**
+     * Removes an account by its email. Throws {@link EntityNotFoundException} with message
+     * "Cannot find Account by email={email}" if account is not found.
+     *
+     * @param email account email
+     */
+    public void remove(String email) {
+        Account account = accountsByEmail.remove(email);
+        if (account == null) {
+            throw new EntityNotFoundException(String.format("Cannot find Account by email=%s", email));
+        }
+        accountsById = null;
+        accountsByMale.get(account.getSex().equals(Sex.MALE)).remove(email);
+        String emailDomain = emailDomainOf(email);
+        Map<String, Account> domainAccounts = accountsByEmailDomain.get(emailDomain);
+        domainAccounts.remove(email);
+        if (domainAccounts.isEmpty()) {
+            accountsByEmailDomain.remove(emailDomain);
+            emailDomainIndex.remove(emailDomain);
+        }
+        Map<String, Integer> firstNameCounts = firstNameCountsByLastName.get(account.getLastName());
+        firstNameCounts.computeIfPresent(account.getFirstName(), (firstName, count) -> count == 1 ? null : count - 1);
+        if (firstNameCounts.isEmpty()) {
+            firstNameCountsByLastName.remove(account.getLastName());
+        }
+        totalBalance.remove(account.getBalance());
+        Month creationMonth = account.getCreationDate().getMonth();
+        RunningBalance monthBalance = balanceByCreationMonth.get(creationMonth);
+        monthBalance.remove(account.getBalance());
+        if (monthBalance.isEmpty()) {
+            balanceByCreationMonth.remove(creationMonth);
+        }
+        countCharacters(account, -1);
+        numOfLettersInFirstAndLastNames -= account.getFirstName().length() + account.getLastName().length();
+    }
+
+    private static String requireValid(Account account) {
+        Objects.requireNonNull(account.getFirstName(), "Account first name is required");
+        Objects.requireNonNull(account.getLastName(), "Account last name is required");
+        Objects.requireNonNull(account.getSex(), "Account sex is required");
+        Objects.requireNonNull(account.getBalance(), "Account balance is required");
+        Objects.requireNonNull(account.getCreationDate(), "Account creation date is required");
+        return Objects.requireNonNull(account.getEmail(), "Account email is required");
+    }
+
+    private static String emailDomainOf(String email) {
+        return email.substring(email.indexOf('@') + 1);
+    }
+
+    private void countCharacters(Account account, long delta) {
+        firstNameCharacters.add(account.getFirstName(), delta, false);
+        lowerCaseNameCharacters.add(account.getFirstName(), delta, true);
+        lowerCaseNameCharacters.add(account.getLastName(), delta, true);
+    }
+
+    /**
+     * Returns parallel analytics over a snapshot of the current accounts. Later events do not affect it.
+     *
+     * @param pool a pool that runs queries
+     * @return parallel analytics over the current accounts
+     */
+    @Override
+    public AccountAnalytics withExecutor(ForkJoinPool pool) {
+        return AccountAnalytics.of(new ArrayList<>(accountsByEmail.values())).withExecutor(pool);
+    }
+
+    @Override
+    public Map<Boolean, List<Account>> partitionMaleAccounts() {
+        Map<Boolean, List<Account>> partitions = new HashMap<>(2);
+        accountsByMale.forEach((male, accounts) -> partitions.put(male, new ArrayList<>(accounts.values())));
+        return partitions;
+    }
+
+    @Override
+    public Map<String, List<Account>> groupAccountsByEmailDomain() {
+        Map<String, List<Account>> groups = new HashMap<>();
+        accountsByEmailDomain.forEach((domain, accounts) -> groups.put(domain, new ArrayList<>(accounts.values())));
+        return groups;
+    }
+
+    @Override
+    public int getNumOfLettersInFirstAndLastNames() {
+        return numOfLettersInFirstAndLastNames;
+    }
+
+    @Override
+    public BigDecimal calculateTotalBalance() {
+        return totalBalance.sum();
+    }
+
+    @Override
+    public boolean containsAccountWithEmailDomain(String emailDomain) {
+        return emailDomainIndex.containsDomainEndingWith(emailDomain);
+    }
+
+    @Override
+    public BigDecimal getBalanceByEmail(String email) {
+        Account account = accountsByEmail.get(email);
+        if (account == null) {
+            throw new EntityNotFoundException(String.format("Cannot find Account by email=%s", email));
+        }
+        return account.getBalance();
+    }
+
+    /**
+     * The map is built on the first call after an event and reused until the next event.
+     */
+    @Override
+    public Map<Long, Account> collectAccountsById() {
+        if (accountsById == null) {
+            accountsById = Collections.unmodifiableMap(accountsByEmail.values().stream()
+                    .collect(toMap(Account::getId, Function.identity())));
+        }
+        return accountsById;
+    }
+
+    @Override
+    public Map<String, Set<String>> groupFirstNamesByLastNames() {
+        Map<String, Set<String>> groups = new HashMap<>();
+        firstNameCountsByLastName.forEach((lastName, firstNames) -> groups.put(lastName,
+                new HashSet<>(firstNames.keySet())));
+        return groups;
+    }
+
+    @Override
+    public Map<Month, BigDecimal> groupTotalBalanceByCreationMonth() {
+        Map<Month, BigDecimal> totals = new HashMap<>();
+        balanceByCreationMonth.forEach((month, balance) -> totals.put(month, balance.sum()));
+        return totals;
+    }
+
+    @Override
+    public Map<Character, Long> getCharacterFrequencyInFirstNames() {
+        return firstNameCharacters.toCharacterMap();
+    }
+
+    @Override
+    public Map<Character, Long> getCharacterFrequencyIgnoreCaseInFirstAndLastNames() {
+        return lowerCaseNameCharacters.toCharacterMap();
+    }
+}
@@ -0,0 +1,126 @@
+package ua.procamp;
+
+import java.nio.ByteBuffer;
+import java.nio.IntBuffer;
+import java.nio.LongBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+
+import ua.procamp.AccountSnapshots.Section;
+
+/**
+ * {@link MappedAccountColumns} reads {@link AccountColumns} straight from memory-mapped snapshot sections. Only email
+ * prefixes are decoded on access, all other columns are read with absolute gets, so instances are safe to share
+ * between threads.
+ */
+final class MappedAccountColumns extends AccountColumns {
+    private final int size;
+    private final LongBuffer ids;
+    private final IntBuffer firstNameCodes;
+    private final IntBuffer lastNameCodes;
+    private final IntBuffer emailPrefixOffsets;
+    private final ByteBuffer emailPrefixes;
+    private final IntBuffer emailDomainCodes;
+    private final LongBuffer balances;
+    private final ByteBuffer balanceScales;
+    private final IntBuffer birthdays;
+    private final IntBuffer creationDates;
+    private final ByteBuffer sexes;
+    private final StringDictionary firstNames;
+    private final StringDictionary lastNames;
+    private final StringDictionary emailDomains;
+
+    MappedAccountColumns(int size, Map<Section, ? extends ByteBuffer> sections, StringDictionary firstNames,
+                         StringDictionary lastNames, StringDictionary emailDomains) {
+        this.size = size;
+        this.ids = sections.get(Section.IDS).asLongBuffer();
+        this.firstNameCodes = sections.get(Section.FIRST_NAME_CODES).asIntBuffer();
+        this.lastNameCodes = sections.get(Section.LAST_NAME_CODES).asIntBuffer();
+        this.emailPrefixOffsets = sections.get(Section.EMAIL_PREFIX_OFFSETS).asIntBuffer();
+        this.emailPrefixes = sections.get(Section.EMAIL_PREFIXES);
+        this.emailDomainCodes = sections.get(Section.EMAIL_DOMAIN_CODES).asIntBuffer();
+        this.balances = sections.get(Section.BALANCES).asLongBuffer();
+        this.balanceScales = sections.get(Section.BALANCE_SCALES);
+        this.birthdays = sections.get(Section.BIRTHDAYS).asIntBuffer();
+        this.creationDates = sections.get(Section.CREATION_DATES).asIntBuffer();
+        this.sexes = sections.get(Section.SEXES);
+        this.firstNames = firstNames;
+        this.lastNames = lastNames;
+        this.emailDomains = emailDomains;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public long id(int row) {
+        return ids.get(row);
+    }
+
+    @Override
+    public int firstNameCode(int row) {
+        return firstNameCodes.get(row);
+    }
+
+    @Override
+    public int lastNameCode(int row) {
+        return lastNameCodes.get(row);
+    }
+
+    @Override
+    public String emailPrefix(int row) {
+        int start = emailPrefixOffsets.get(row);
+        byte[] bytes = new byte[emailPrefixOffsets.get(row + 1) - start];
+        for (int i = 0; i < bytes.length; i++) {
+            bytes[i] = emailPrefixes.get(start + i);
+        }
+        return new String(bytes, StandardCharsets.UTF_8);
+    }
+
+    @Override
+    public int emailDomainCode(int row) {
+        return emailDomainCodes.get(row);
+    }
+
+    @Override
+    public long balanceUnscaled(int row) {
+        return balances.get(row);
+    }
+
+    @Override
+    public int balanceScale(int row) {
+        return balanceScales.get(row);
+    }
+
+    @Override
+    public int birthdayEpochDay(int row) {
+        return birthdays.get(row);
+    }
+
+    @Override
+    public int creationEpochDay(int row) {
+        return creationDates.get(row);
+    }
+
+    @Override
+    public byte sex(int row) {
+        return sexes.get(row);
+    }
+
+    @Override
+    public StringDictionary firstNames() {
+        return firstNames;
+    }
+
+    @Override
+    public StringDictionary lastNames() {
+        return lastNames;
+    }
+
+    @Override
+    public StringDictionary emailDomains() {
+        return emailDomains;
+    }
+}
@@ -0,0 +1,50 @@
+package ua.procamp;
+
+import java.math.BigDecimal;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * {@link RunningBalance} keeps a sum of balances that supports both adding and removing a balance in constant time.
+ * It also counts balances by scale, so {@link RunningBalance#sum()} has the same scale as a sum recomputed from the
+ * current balances.
+ */
+final class RunningBalance {
+    private final boolean startsFromZero;
+    private final TreeMap<Integer, Integer> scaleCounts = new TreeMap<>();
+    private BigDecimal sum = BigDecimal.ZERO;
+    private int count;
+
+    /**
+     * @param startsFromZero {@code true} if the sum behaves like a reduction that starts from {@link BigDecimal#ZERO},
+     *                       so its scale is never less than zero
+     */
+    RunningBalance(boolean startsFromZero) {
+        this.startsFromZero = startsFromZero;
+    }
+
+    void add(BigDecimal balance) {
+        sum = sum.add(balance);
+        scaleCounts.merge(balance.scale(), 1, Integer::sum);
+        count++;
+    }
+
+    void remove(BigDecimal balance) {
+        sum = sum.subtract(balance);
+        scaleCounts.computeIfPresent(balance.scale(), (scale, scaleCount) -> scaleCount == 1 ? null : scaleCount - 1);
+        count--;
+    }
+
+    boolean isEmpty() {
+        return count == 0;
+    }
+
+    BigDecimal sum() {
+        if (count == 0) {
+            return BigDecimal.ZERO;
+        }
+        Map.Entry<Integer, Integer> maxScale = scaleCounts.lastEntry();
+        int scale = startsFromZero ? Math.max(0, maxScale.getKey()) : maxScale.getKey();
+        return sum.setScale(scale);
+    }
+}
@@ -0,0 +1,85 @@
+package ua.procamp;
+
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+
+/**
+ * {@link StringDictionary} is an immutable, sorted set of distinct strings where every value is identified by an
+ * {@code int} code. Codes follow the natural {@link String} order, so comparing two codes gives the same result as
+ * comparing the strings they stand for.
+ */
+public final class StringDictionary {
+    private final String[] values;
+    private final Map<String, Integer> codes;
+
+    private StringDictionary(String[] values) {
+        this.values = values;
+        this.codes = new HashMap<>(values.length * 2);
+        for (int code = 0; code < values.length; code++) {
+            codes.put(values[code], code);
+        }
+    }
+
+    /**
+     * Creates a dictionary of all distinct values. Throws {@link NullPointerException} if any value is {@code null}.
+     *
+     * @param values values to encode
+     * @return a new dictionary
+     */
+    public static StringDictionary of(Collection<String> values) {
+        String[] distinct = values.stream()
+                .map(Objects::requireNonNull)
+                .distinct()
+                .sorted()
+                .toArray(String[]::new);
+        return new StringDictionary(distinct);
+    }
+
+    /**
+     * Creates a dictionary from values that are already distinct and sorted in natural order.
+     *
+     * @param sortedValues distinct values in ascending order
+     * @return a new dictionary
+     */
+    static StringDictionary ofSorted(String[] sortedValues) {
+        return new StringDictionary(sortedValues);
+    }
+
+    /**
+     * Returns a value by its code.
+     *
+     * @param code value code
+     * @return dictionary value
+     */
+    public String get(int code) {
+        return values[code];
+    }
+
+    /**
+     * Returns a code of the value, or {@code -1} if the dictionary does not contain it.
+     *
+     * @param value a value to look up
+     * @return value code or {@code -1}
+     */
+    public int indexOf(String value) {
+        Integer code = codes.get(value);
+        return code == null ? -1 : code;
+    }
+
+    /**
+     * Returns the number of distinct values.
+     *
+     * @return dictionary size
+     */
+    public int size() {
+        return values.length;
+    }
+
+    @Override
+    public String toString() {
+        return Arrays.toString(values);
+    }
+}
@@ -0,0 +1,132 @@
+package ua.procamp;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * {@link TopK} keeps the {@code k} greatest elements in a bounded binary min-heap, so selecting them takes
+ * O(n log k) time and O(k) memory. Equal elements keep their encounter order: the result is the same as sorting all
+ * elements in descending order with a stable sort and taking the first {@code k}.
+ * <p>
+ * Every element gets a sequence number in encounter order. When a parallel stream merges two containers, sequence
+ * numbers of the right one are shifted by the number of elements the left one has seen.
+ *
+ * @param <T> element type
+ */
+final class TopK<T> {
+    private final int k;
+    private final Comparator<? super T> comparator;
+    private final Object[] heap;
+    private final long[] sequences;
+    private int size;
+    private long seen;
+
+    private TopK(int k, Comparator<? super T> comparator) {
+        this.k = k;
+        this.comparator = comparator;
+        this.heap = new Object[k];
+        this.sequences = new long[k];
+    }
+
+    /**
+     * Returns a collector of the {@code k} greatest elements in descending order.
+     *
+     * @param k          max number of elements
+     * @param comparator element order
+     * @param <T>        element type
+     * @return a collector that produces a list of at most {@code k} elements
+     */
+    static <T> Collector<T, TopK<T>, List<T>> collector(int k, Comparator<? super T> comparator) {
+        if (k < 0) {
+            throw new IllegalArgumentException("Number of elements cannot be negative: " + k);
+        }
+        return Collector.of(() -> new TopK<>(k, comparator), TopK::offer, TopK::merge, TopK::toList);
+    }
+
+    void offer(T element) {
+        offer(element, seen++);
+    }
+
+    private void offer(T element, long sequence) {
+        if (size < k) {
+            heap[size] = element;
+            sequences[size] = sequence;
+            siftUp(size++);
+        } else if (k > 0 && isWorse(0, element, sequence)) {
+            heap[0] = element;
+            sequences[0] = sequence;
+            siftDown(0);
+        }
+    }
+
+    TopK<T> merge(TopK<T> right) {
+        for (int i = 0; i < right.size; i++) {
+            offer(right.element(i), seen + right.sequences[i]);
+        }
+        seen += right.seen;
+        return this;
+    }
+
+    List<T> toList() {
+        Integer[] order = new Integer[size];
+        Arrays.setAll(order, i -> i);
+        Arrays.sort(order, (i, j) -> i.equals(j) ? 0 : isWorse(j, element(i), sequences[i]) ? -1 : 1);
+        List<T> result = new ArrayList<>(size);
+        for (Integer i : order) {
+            result.add(element(i));
+        }
+        return result;
+    }
+
+    @SuppressWarnings("unchecked")
+    private T element(int index) {
+        return (T) heap[index];
+    }
+
+    /**
+     * Checks if the heap element at the index goes after the provided element in the result.
+     */
+    private boolean isWorse(int index, T element, long sequence) {
+        int comparison = comparator.compare(element(index), element);
+        return comparison < 0 || comparison == 0 && sequences[index] > sequence;
+    }
+
+    private void siftUp(int index) {
+        while (index > 0) {
+            int parent = (index - 1) / 2;
+            if (!isWorse(index, element(parent), sequences[parent])) {
+                return;
+            }
+            swap(index, parent);
+            index = parent;
+        }
+    }
+
+    private void siftDown(int index) {
+        while (true) {
+            int worst = index;
+            for (int child = 2 * index + 1; child <= 2 * index + 2 && child < size; child++) {
+                if (isWorse(child, element(worst), sequences[worst])) {
+                    worst = child;
+                }
+            }
+            if (worst == index) {
+                return;
+            }
+            swap(index, worst);
+            index = worst;
+        }
+    }
+
+    private void swap(int i, int j) {
+        Object element = heap[i];
+        heap[i] = heap[j];
+        heap[j] = element;
+        long sequence = sequences[i];
+        sequences[i] = sequences[j];
+        sequences[j] = sequence;
+    }
+}
@@ -37,7 +37,11 @@ public class AccountAnalyticsTest {
                 new Account(4L, "Lucas", "Lynn", "lucas.lynn@yahoo.com",
                         LocalDate.parse("1987-05-25"), Sex.MALE, LocalDate.parse("2009-03-05"), BigDecimal.valueOf(16980))
         );
-        analytics = AccountAnalytics.of(accounts);
+        analytics = createAnalytics(accounts);
+    }
+
+    protected AccountAnalytics createAnalytics(List<Account> accounts) {
+        return AccountAnalytics.of(accounts);
     }
 
     @Test
@@ -48,6 +52,45 @@ public class AccountAnalyticsTest {
         assertEquals(expectedPerson, actualRichestPerson);
     }
 
+    @Test
+    public void testFindRichestPersons() {
+        List<Account> richestPersons = analytics.findRichestPersons(3);
+
+        assertEquals(Arrays.asList(accounts.get(0), accounts.get(1), accounts.get(3)), richestPersons);
+        assertEquals(accounts.size(), analytics.findRichestPersons(10).size());
+        assertTrue(analytics.findRichestPersons(0).isEmpty());
+    }
+
+    @Test
+    public void testFindRichestPersonsKeepsOrderOfEqualBalances() {
+        List<Account> equalAccounts = new ArrayList<>();
+        for (int i = 0; i < 100; i++) {
+            equalAccounts.add(new Account((long) i, "Name", "Surname", i + "@gmail.com", LocalDate.parse("2003-04-17"),
+                    Sex.MALE, LocalDate.parse("2016-06-13"), BigDecimal.valueOf(i % 7)));
+        }
+        List<Account> expected = new ArrayList<>(equalAccounts);
+        expected.sort(Comparator.comparing(Account::getBalance).reversed());
+
+        assertEquals(expected.subList(0, 20), createAnalytics(equalAccounts).findRichestPersons(20));
+    }
+
+    @Test
+    public void testSummarizeBalances() {
+        BalanceSketch sketch = analytics.summarizeBalances(0.01);
+
+        assertEquals(4, sketch.getCount());
+        assertEquals(13889, sketch.getQuantile(0), 0);
+        assertEquals(172966, sketch.getQuantile(1), 0);
+        assertEquals(16980, sketch.getQuantile(0.5), 16980 * 0.01);
+    }
+
+    @Test
+    public void testCountAccountsByBalanceRanges() {
+        long[] counts = analytics.countAccountsByBalanceRanges(BigDecimal.valueOf(16980), BigDecimal.valueOf(100000));
+
+        assertArrayEquals(new long[]{1, 2, 1}, counts);
+    }
+
     @Test
     public void testSeparateMaleAccounts() {
         Map<Boolean, List<Account>> expectedAccountMap = getExpectedMaleMap();
@@ -107,6 +150,32 @@ public class AccountAnalyticsTest {
     }
 
 
+    @Test
+    public void testCalculateTotalBalanceWithMixedScalesAndOverflow() {
+        List<BigDecimal> balances = Arrays.asList(new BigDecimal("1E+3"), BigDecimal.valueOf(Long.MAX_VALUE),
+                new BigDecimal("0.25"), BigDecimal.valueOf(Long.MAX_VALUE), new BigDecimal("-7.125"));
+        List<Account> mixedAccounts = new ArrayList<>();
+        for (int i = 0; i < balances.size(); i++) {
+            mixedAccounts.add(new Account((long) i, "Name", "Surname", i + "@gmail.com", LocalDate.parse("2003-04-17"),
+                    Sex.MALE, LocalDate.parse("2016-06-13"), balances.get(i)));
+        }
+        AccountAnalytics mixedAnalytics = createAnalytics(mixedAccounts);
+
+        BigDecimal expectedTotal = new BigDecimal("18446744073709552607.125");
+        assertEquals(expectedTotal, mixedAnalytics.calculateTotalBalance());
+        assertEquals(expectedTotal, mixedAnalytics.groupTotalBalanceByCreationMonth().get(Month.JUNE));
+    }
+
+    @Test
+    public void testCalculateTotalBalanceOfNegativeScale() {
+        AccountAnalytics negativeScaleAnalytics = createAnalytics(new ArrayList<>(Arrays.asList(
+                new Account(1L, "Name", "Surname", "name@gmail.com", LocalDate.parse("2003-04-17"), Sex.MALE,
+                        LocalDate.parse("2016-06-13"), new BigDecimal("1E+3")))));
+
+        assertEquals(-3, negativeScaleAnalytics.calculateTotalBalance().scale());
+        assertEquals(0, negativeScaleAnalytics.groupTotalBalanceByCreationMonth().get(Month.JUNE).scale());
+    }
+
     @Test
     public void testSortByFirstAndLastNames() {
         List<Account> sortedList = analytics.sortByFirstAndLastNames();
@@ -125,6 +194,13 @@ public class AccountAnalyticsTest {
         assertFalse(analytics.containsAccountWithEmailDomain("ukr.net"));
     }
 
+    @Test
+    public void testContainsAccountWithEmailDomainSuffix() {
+        assertTrue(analytics.containsAccountWithEmailDomain("com"));
+        assertTrue(analytics.containsAccountWithEmailDomain("ail.com"));
+        assertFalse(analytics.containsAccountWithEmailDomain("gmail"));
+    }
+
     @Test
     public void testGetBalanceByEmail() {
         Account account = accounts.get(1);
@@ -155,6 +231,11 @@ public class AccountAnalyticsTest {
         assertEquals(accounts.get(3), idToAccountMap.get(4L));
     }
 
+    @Test
+    public void testCollectAccountsByIdReusesIndex() {
+        assertSame(analytics.collectAccountsById(), analytics.collectAccountsById());
+    }
+
 //    @Test
 //    public void testCollectBalancesByIdForAccountsCreatedOn() {
 //        Account account = accounts.get(3);
@@ -207,6 +288,40 @@ public class AccountAnalyticsTest {
         assertEquals(2, characterFrequencyInFirstAndLastNames.get('u').longValue());
     }
 
+    @Test
+    public void testGetCharacterFrequencyCountsSupplementaryCharactersAsSurrogates() {
+        String name = "Al\uD835\uDC9C";
+        AccountAnalytics supplementaryAnalytics = createAnalytics(new ArrayList<>(Arrays.asList(
+                new Account(5L, name, name, "al@gmail.com", LocalDate.parse("2003-04-17"), Sex.MALE,
+                        LocalDate.parse("2016-06-13"), BigDecimal.ONE))));
+
+        Map<Character, Long> frequency = supplementaryAnalytics.getCharacterFrequencyInFirstNames();
+        Map<Character, Long> ignoreCaseFrequency =
+                supplementaryAnalytics.getCharacterFrequencyIgnoreCaseInFirstAndLastNames();
+
+        assertEquals(4, frequency.size());
+        assertEquals(1, frequency.get('\uD835').longValue());
+        assertEquals(1, frequency.get('\uDC9C').longValue());
+        assertEquals(2, ignoreCaseFrequency.get('a').longValue());
+        assertEquals(2, ignoreCaseFrequency.get('\uD835').longValue());
+    }
+
+    @Test
+    public void testGetCharacterFrequencyIgnoreCaseLowersNamesAsStrings() {
+        AccountAnalytics greekAnalytics = createAnalytics(new ArrayList<>(Arrays.asList(
+                new Account(6L, "\u0130lkay", "\u039f\u0394\u03a5\u03a3\u03a3\u0395\u0391\u03a3", "ilkay@gmail.com",
+                        LocalDate.parse("2003-04-17"), Sex.MALE, LocalDate.parse("2016-06-13"), BigDecimal.ONE))));
+
+        Map<Character, Long> frequency = greekAnalytics.getCharacterFrequencyIgnoreCaseInFirstAndLastNames();
+
+        assertEquals(1, frequency.get('i').longValue());
+        assertEquals(1, frequency.get('\u0307').longValue());
+        assertEquals(2, frequency.get('\u03c3').longValue());
+        assertEquals(1, frequency.get('\u03c2').longValue());
+        assertNull(frequency.get('\u0130'));
+        assertNull(frequency.get('\u03a3'));
+    }
+
     @Test
     public void testGetCharacterFrequencyIgnoreCaseInFirstAndLastNames() {
         Map<Character, Long> characterFrequencyInFirstAndLastNames = analytics.getCharacterFrequencyIgnoreCaseInFirstAndLastNames();
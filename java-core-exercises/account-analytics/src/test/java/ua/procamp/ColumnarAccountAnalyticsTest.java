@@ -0,0 +1,43 @@
+package ua.procamp;
+
+import ua.procamp.model.Account;
+import ua.procamp.model.Sex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class ColumnarAccountAnalyticsTest extends AccountAnalyticsTest {
+
+    @Override
+    protected AccountAnalytics createAnalytics(List<Account> accounts) {
+        return AccountAnalytics.of(AccountColumns.of(accounts));
+    }
+
+    @Test
+    public void testColumnsRestoreAccounts() {
+        Account account = new Account(null, "Justin", "Butler", "justin.butler",
+                LocalDate.parse("1969-12-31"), Sex.MALE, LocalDate.parse("2000-02-29"),
+                new BigDecimal("-12.50"));
+        AccountColumns columns = AccountColumns.of(Arrays.asList(account));
+        Account restored = columns.account(0);
+
+        assertNull(restored.getId());
+        assertEquals("justin.butler", restored.getEmail());
+        assertEquals("justin.butler", columns.emailDomain(0));
+        assertEquals(account.getBirthday(), restored.getBirthday());
+        assertEquals(Month.DECEMBER, columns.birthdayMonth(0));
+        assertEquals(Month.FEBRUARY, columns.creationMonth(0));
+        assertEquals(2000, columns.creationYear(0));
+        assertEquals(account.getBalance(), restored.getBalance());
+        assertEquals(2, restored.getBalance().scale());
+    }
+}
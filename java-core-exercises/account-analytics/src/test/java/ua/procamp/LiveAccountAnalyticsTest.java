@@ -0,0 +1,129 @@
+package ua.procamp;
+
+import ua.procamp.exception.EntityNotFoundException;
+import ua.procamp.model.Account;
+import ua.procamp.model.Sex;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class LiveAccountAnalyticsTest extends AccountAnalyticsTest {
+
+    private LiveAccountAnalytics liveAnalytics;
+    private List<Account> currentAccounts;
+
+    @Override
+    protected AccountAnalytics createAnalytics(List<Account> accounts) {
+        currentAccounts = new ArrayList<>(accounts);
+        liveAnalytics = LiveAccountAnalytics.of(accounts);
+        return liveAnalytics;
+    }
+
+    @Test
+    public void testAddAccount() {
+        Account account = new Account(5L, "Emma", "Butler", "emma@ukr.net",
+                LocalDate.parse("1990-04-01"), Sex.FEMALE, LocalDate.parse("2015-06-02"), new BigDecimal("10.50"));
+        liveAnalytics.add(account);
+        currentAccounts.add(account);
+
+        assertSameResults();
+        assertTrue(liveAnalytics.containsAccountWithEmailDomain("ukr.net"));
+        assertEquals(new BigDecimal("211005.50"), liveAnalytics.groupTotalBalanceByCreationMonth().get(Month.JUNE));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testAddAccountWithExistingEmail() {
+        liveAnalytics.add(currentAccounts.get(0));
+    }
+
+    @Test
+    public void testAddAccountWithoutBalance() {
+        Account account = new Account(5L, "Emma", "Butler", "emma@ukr.net",
+                LocalDate.parse("1990-04-01"), Sex.FEMALE, LocalDate.parse("2015-06-02"), null);
+
+        try {
+            liveAnalytics.add(account);
+            fail();
+        } catch (NullPointerException e) {
+            assertSameResults();
+            assertFalse(liveAnalytics.containsAccountWithEmailDomain("ukr.net"));
+        }
+    }
+
+    @Test
+    public void testUpdateAccountWithoutCreationDate() {
+        Account old = currentAccounts.get(0);
+        Account account = new Account(old.getId(), "Justine", "Lynn", old.getEmail(), old.getBirthday(),
+                Sex.FEMALE, null, BigDecimal.valueOf(5));
+
+        try {
+            liveAnalytics.update(account);
+            fail();
+        } catch (NullPointerException e) {
+            assertSameResults();
+            assertEquals(old.getBalance(), liveAnalytics.getBalanceByEmail(old.getEmail()));
+        }
+    }
+
+    @Test
+    public void testUpdateAccount() {
+        Account old = currentAccounts.remove(0);
+        Account account = new Account(old.getId(), "Justine", "Lynn", old.getEmail(), old.getBirthday(),
+                Sex.FEMALE, LocalDate.parse("2016-03-13"), BigDecimal.valueOf(5));
+        liveAnalytics.update(account);
+        currentAccounts.add(account);
+
+        assertSameResults();
+        assertEquals(BigDecimal.valueOf(5), liveAnalytics.getBalanceByEmail(old.getEmail()));
+        assertEquals(BigDecimal.valueOf(38029), liveAnalytics.groupTotalBalanceByCreationMonth().get(Month.JUNE));
+    }
+
+    @Test
+    public void testRemoveAccount() {
+        Account removed = currentAccounts.remove(1);
+        liveAnalytics.remove(removed.getEmail());
+
+        assertSameResults();
+        assertFalse(liveAnalytics.groupAccountsByEmailDomain().containsKey("mail.com"));
+        assertNull(liveAnalytics.groupFirstNamesByLastNames().get("Cardenas"));
+    }
+
+    @Test
+    public void testRemoveAllAccounts() {
+        new ArrayList<>(currentAccounts).forEach(account -> liveAnalytics.remove(account.getEmail()));
+        currentAccounts.clear();
+
+        assertSameResults();
+        assertEquals(BigDecimal.ZERO, liveAnalytics.calculateTotalBalance());
+        assertTrue(liveAnalytics.getCharacterFrequencyInFirstNames().isEmpty());
+    }
+
+    @Test(expected = EntityNotFoundException.class)
+    public void testRemoveMissingAccount() {
+        liveAnalytics.remove("fake@mail.com");
+    }
+
+    private void assertSameResults() {
+        AccountAnalytics expected = AccountAnalytics.of(currentAccounts);
+
+        assertEquals(expected.partitionMaleAccounts(), liveAnalytics.partitionMaleAccounts());
+        assertEquals(expected.groupAccountsByEmailDomain(), liveAnalytics.groupAccountsByEmailDomain());
+        assertEquals(expected.getNumOfLettersInFirstAndLastNames(), liveAnalytics.getNumOfLettersInFirstAndLastNames());
+        assertEquals(expected.calculateTotalBalance(), liveAnalytics.calculateTotalBalance());
+        assertEquals(expected.collectAccountsById(), liveAnalytics.collectAccountsById());
+        assertEquals(expected.groupFirstNamesByLastNames(), liveAnalytics.groupFirstNamesByLastNames());
+        assertEquals(expected.groupTotalBalanceByCreationMonth(), liveAnalytics.groupTotalBalanceByCreationMonth());
+        assertEquals(expected.getCharacterFrequencyInFirstNames(), liveAnalytics.getCharacterFrequencyInFirstNames());
+        assertEquals(expected.getCharacterFrequencyIgnoreCaseInFirstAndLastNames(),
+                liveAnalytics.getCharacterFrequencyIgnoreCaseInFirstAndLastNames());
+    }
+}
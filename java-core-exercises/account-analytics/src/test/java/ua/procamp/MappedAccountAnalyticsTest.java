@@ -0,0 +1,71 @@
+package ua.procamp;
+
+import ua.procamp.model.Account;
+import ua.procamp.model.Sex;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDate;
+import java.util.Arrays;
+import java.util.List;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class MappedAccountAnalyticsTest extends AccountAnalyticsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
+
+    @Override
+    protected AccountAnalytics createAnalytics(List<Account> accounts) {
+        try {
+            Path file = folder.newFile().toPath();
+            AccountSnapshots.write(accounts, file);
+            return AccountAnalytics.of(AccountSnapshots.open(file));
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    @Test
+    public void testSnapshotRestoresAccounts() throws IOException {
+        List<Account> accounts = Arrays.asList(
+                new Account(7L, "\u017baneta", "Kowalska", "\u017caneta.k@poczta.pl", LocalDate.parse("1969-12-31"),
+                        Sex.FEMALE, LocalDate.parse("2000-02-29"), new BigDecimal("-12.50")),
+                new Account(null, "Justin", "Butler", "justin.butler@gmail.com", LocalDate.parse("1985-05-17"),
+                        Sex.MALE, LocalDate.parse("2018-01-01"), new BigDecimal("1E+3")));
+        Path file = folder.newFile().toPath();
+        AccountSnapshots.write(accounts, file);
+        AccountColumns columns = AccountSnapshots.open(file);
+
+        assertEquals(2, columns.size());
+        for (int row = 0; row < accounts.size(); row++) {
+            Account expected = accounts.get(row);
+            Account restored = columns.account(row);
+            assertEquals(expected.getId(), restored.getId());
+            assertEquals(expected.getFirstName(), restored.getFirstName());
+            assertEquals(expected.getLastName(), restored.getLastName());
+            assertEquals(expected.getEmail(), restored.getEmail());
+            assertEquals(expected.getBirthday(), restored.getBirthday());
+            assertEquals(expected.getSex(), restored.getSex());
+            assertEquals(expected.getCreationDate(), restored.getCreationDate());
+            assertEquals(expected.getBalance(), restored.getBalance());
+        }
+    }
+
+    @Test(expected = IOException.class)
+    public void testOpenRejectsOtherFiles() throws IOException {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "not a snapshot at all".getBytes());
+
+        AccountSnapshots.open(file);
+    }
+}
@@ -0,0 +1,61 @@
+package ua.procamp;
+
+import ua.procamp.data.AccountGenerator;
+import ua.procamp.model.Account;
+import org.junit.AfterClass;
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.concurrent.ForkJoinPool;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+
+@RunWith(JUnit4.class)
+public class ParallelAccountAnalyticsTest extends AccountAnalyticsTest {
+    private static final ForkJoinPool POOL = new ForkJoinPool(4);
+
+    @AfterClass
+    public static void shutDownPool() {
+        POOL.shutdown();
+    }
+
+    @Override
+    protected AccountAnalytics createAnalytics(List<Account> accounts) {
+        return AccountAnalytics.of(accounts).withExecutor(POOL);
+    }
+
+    @Test
+    public void testSameResultsAsSequentialOnGeneratedAccounts() {
+        List<Account> accounts = AccountGenerator.withSeed(7, LocalDate.of(2020, 1, 1)).list(5000);
+        AccountAnalytics sequential = AccountAnalytics.of(accounts);
+        AccountAnalytics parallel = createAnalytics(accounts);
+
+        assertEquals(sequential.findRichestPerson(), parallel.findRichestPerson());
+        assertEquals(sequential.findRichestPersons(100), parallel.findRichestPersons(100));
+        assertArrayEquals(sequential.countAccountsByBalanceRanges(BigDecimal.valueOf(1000), BigDecimal.valueOf(50000)),
+                parallel.countAccountsByBalanceRanges(BigDecimal.valueOf(1000), BigDecimal.valueOf(50000)));
+        assertEquals(sequential.findAccountsByBirthdayMonth(Month.MARCH),
+                parallel.findAccountsByBirthdayMonth(Month.MARCH));
+        assertEquals(sequential.partitionMaleAccounts(), parallel.partitionMaleAccounts());
+        assertEquals(sequential.groupAccountsByEmailDomain(), parallel.groupAccountsByEmailDomain());
+        assertEquals(sequential.getNumOfLettersInFirstAndLastNames(), parallel.getNumOfLettersInFirstAndLastNames());
+        assertEquals(sequential.calculateTotalBalance(), parallel.calculateTotalBalance());
+        assertEquals(sequential.sortByFirstAndLastNames(), parallel.sortByFirstAndLastNames());
+        assertEquals(sequential.collectAccountsById(), parallel.collectAccountsById());
+        assertEquals(sequential.collectBalancesByIdForAccountsCreatedOn(2018),
+                parallel.collectBalancesByIdForAccountsCreatedOn(2018));
+        assertEquals(sequential.groupFirstNamesByLastNames(), parallel.groupFirstNamesByLastNames());
+        assertEquals(sequential.groupCommaSeparatedFirstNamesByBirthdayMonth(),
+                parallel.groupCommaSeparatedFirstNamesByBirthdayMonth());
+        assertEquals(sequential.groupTotalBalanceByCreationMonth(), parallel.groupTotalBalanceByCreationMonth());
+        assertEquals(sequential.getCharacterFrequencyInFirstNames(), parallel.getCharacterFrequencyInFirstNames());
+        assertEquals(sequential.getCharacterFrequencyIgnoreCaseInFirstAndLastNames(),
+                parallel.getCharacterFrequencyIgnoreCaseInFirstAndLastNames());
+    }
+}
@@ -0,0 +1,16 @@
+package ua.procamp;
+
+import ua.procamp.model.Account;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.List;
+
+@RunWith(JUnit4.class)
+public class ParallelColumnarAccountAnalyticsTest extends ColumnarAccountAnalyticsTest {
+
+    @Override
+    protected AccountAnalytics createAnalytics(List<Account> accounts) {
+        return AccountAnalytics.of(AccountColumns.of(accounts)).parallel();
+    }
+}
@@ -0,0 +1,273 @@
+package ua.procamp.data;
+
+import io.codearte.jfairy.Fairy;
+import io.codearte.jfairy.producer.person.Person;
+import io.codearte.jfairy.producer.person.PersonProperties;
+import ua.procamp.model.Account;
+import ua.procamp.model.Sex;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.util.List;
+import java.util.Locale;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.Spliterator;
+import java.util.TreeSet;
+import java.util.function.Consumer;
+import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link AccountGenerator} produces large reproducible sets of fake accounts. Names and email domains are sampled
+ * with {@link Fairy} once per generator, and every account is then built from a small pool without calling
+ * {@link Fairy} again.
+ * <p>
+ * Accounts are generated in blocks of {@value #BLOCK_SIZE}. Each block has its own {@link SplittableRandom} seeded
+ * from the generator seed and the block number, so the account at a given index is the same for sequential and
+ * parallel streams and for any stream size. Emails are unique because they include the account index.
+ */
+public final class AccountGenerator {
+    static final int BLOCK_SIZE = 1024;
+    private static final int POOL_SIZE = 200;
+    private static final long GOLDEN_GAMMA = 0x9e3779b97f4a7c15L;
+    private static final int MIN_AGE = 18;
+    private static final int MAX_AGE = 80;
+    private static final int HISTORY_YEARS = 15;
+    private static final int MAX_BALANCE = 200_000;
+    private static final Sex[] SEXES = Sex.values();
+
+    private final long seed;
+    private final LocalDate today;
+    private final String[] maleFirstNames;
+    private final String[] femaleFirstNames;
+    private final String[] lastNames;
+    private final String[] emailDomains;
+
+    private AccountGenerator(long seed, LocalDate today) {
+        this.seed = seed;
+        this.today = today;
+        Fairy fairy = Fairy.builder().withRandomSeed(seed).build();
+        TreeSet<String> male = new TreeSet<>();
+        TreeSet<String> female = new TreeSet<>();
+        TreeSet<String> last = new TreeSet<>();
+        TreeSet<String> domains = new TreeSet<>();
+        for (int i = 0; i < POOL_SIZE; i++) {
+            Person man = fairy.person(PersonProperties.male());
+            Person woman = fairy.person(PersonProperties.female());
+            male.add(man.getFirstName());
+            female.add(woman.getFirstName());
+            last.add(man.getLastName());
+            last.add(woman.getLastName());
+            domains.add(man.getEmail().substring(man.getEmail().indexOf('@') + 1));
+        }
+        this.maleFirstNames = male.toArray(new String[0]);
+        this.femaleFirstNames = female.toArray(new String[0]);
+        this.lastNames = last.toArray(new String[0]);
+        this.emailDomains = domains.toArray(new String[0]);
+    }
+
+    /**
+     * Creates a generator with the provided seed. Creation dates go back from the current date.
+     *
+     * @param seed random seed
+     * @return a new generator
+     */
+    public static AccountGenerator withSeed(long seed) {
+        return withSeed(seed, LocalDate.now());
+    }
+
+    /**
+     * Creates a generator with the provided seed and the date of the newest accounts. Generators with the same seed and
+     * date produce the same accounts.
+     *
+     * @param seed  random seed
+     * @param today the latest creation date
+     * @return a new generator
+     */
+    public static AccountGenerator withSeed(long seed, LocalDate today) {
+        return new AccountGenerator(seed, Objects.requireNonNull(today, "Date cannot be null"));
+    }
+
+    /**
+     * Returns a lazy sequential stream of accounts. Call {@link Stream#parallel()} to generate them in parallel.
+     *
+     * @param size number of accounts
+     * @return a stream of accounts with indexes from 0 to {@code size - 1}
+     */
+    public Stream<Account> stream(long size) {
+        return StreamSupport.stream(spliterator(size), false);
+    }
+
+    /**
+     * Returns a spliterator over accounts. It splits at block boundaries.
+     *
+     * @param size number of accounts
+     * @return a spliterator over accounts with indexes from 0 to {@code size - 1}
+     */
+    public Spliterator<Account> spliterator(long size) {
+        if (size < 0) {
+            throw new IllegalArgumentException("Size cannot be negative: " + size);
+        }
+        return new AccountSpliterator(0, size);
+    }
+
+    /**
+     * Generates accounts in parallel and collects them into a list.
+     *
+     * @param size number of accounts
+     * @return a list of accounts
+     */
+    public List<Account> list(int size) {
+        return stream(size).parallel().collect(toList());
+    }
+
+    /**
+     * Returns an account by its index.
+     *
+     * @param index account index
+     * @return the same account that streams produce at this index
+     */
+    public Account get(long index) {
+        if (index < 0) {
+            throw new IndexOutOfBoundsException("Index cannot be negative: " + index);
+        }
+        SplittableRandom random = blockRandom(index / BLOCK_SIZE);
+        for (long skipped = index % BLOCK_SIZE; skipped > 0; skipped--) {
+            generate(index - skipped, random);
+        }
+        return generate(index, random);
+    }
+
+    private SplittableRandom blockRandom(long block) {
+        return new SplittableRandom(mix(seed + (block + 1) * GOLDEN_GAMMA));
+    }
+
+    private static long mix(long z) {
+        z = (z ^ (z >>> 30)) * 0xbf58476d1ce4e5b9L;
+        z = (z ^ (z >>> 27)) * 0x94d049bb133111ebL;
+        return z ^ (z >>> 31);
+    }
+
+    /**
+     * Builds an account from the next random values of its block. Bounded values use rejection sampling, so accounts
+     * consume different numbers of random values, and an account inside a block is reached only by generating every
+     * account before it in the block with the same random.
+     */
+    private Account generate(long index, SplittableRandom random) {
+        Sex sex = SEXES[random.nextInt(SEXES.length)];
+        String[] firstNames = sex == Sex.MALE ? maleFirstNames : femaleFirstNames;
+        String firstName = firstNames[random.nextInt(firstNames.length)];
+        String lastName = lastNames[random.nextInt(lastNames.length)];
+        String domain = emailDomains[random.nextInt(emailDomains.length)];
+        int emailFormat = random.nextInt(3);
+
+        LocalDate oldestBirthday = today.minusYears(MAX_AGE);
+        LocalDate youngestBirthday = today.minusYears(MIN_AGE);
+        LocalDate birthday = oldestBirthday.plusDays(
+                random.nextLong(youngestBirthday.toEpochDay() - oldestBirthday.toEpochDay() + 1));
+
+        // newer accounts are more common: the square root of a uniform value leans towards the upper bound
+        LocalDate firstCreationDate = max(birthday.plusYears(MIN_AGE), today.minusYears(HISTORY_YEARS));
+        long creationDays = today.toEpochDay() - firstCreationDate.toEpochDay();
+        LocalDate creationDate = firstCreationDate.plusDays((long) (Math.sqrt(random.nextDouble()) * creationDays));
+
+        BigDecimal balance = BigDecimal.valueOf(random.nextInt(MAX_BALANCE));
+
+        Account account = new Account();
+        account.setId(index + 1);
+        account.setFirstName(firstName);
+        account.setLastName(lastName);
+        account.setEmail(email(firstName, lastName, emailFormat, index, domain));
+        account.setBirthday(birthday);
+        account.setSex(sex);
+        account.setCreationDate(creationDate);
+        account.setBalance(balance);
+        return account;
+    }
+
+    private static String email(String firstName, String lastName, int format, long index, String domain) {
+        String first = firstName.toLowerCase(Locale.ROOT);
+        String last = lastName.toLowerCase(Locale.ROOT);
+        String user;
+        switch (format) {
+            case 0:
+                user = first + '.' + last;
+                break;
+            case 1:
+                user = first + last;
+                break;
+            default:
+                user = first.charAt(0) + last;
+        }
+        return user + '.' + index + '@' + domain;
+    }
+
+    private static LocalDate max(LocalDate a, LocalDate b) {
+        return a.isAfter(b) ? a : b;
+    }
+
+    private final class AccountSpliterator implements Spliterator<Account> {
+        private long index;
+        private final long end;
+        private SplittableRandom random;
+
+        AccountSpliterator(long index, long end) {
+            this.index = index;
+            this.end = end;
+        }
+
+        @Override
+        public boolean tryAdvance(Consumer<? super Account> action) {
+            if (index >= end) {
+                return false;
+            }
+            action.accept(next());
+            return true;
+        }
+
+        @Override
+        public void forEachRemaining(Consumer<? super Account> action) {
+            while (index < end) {
+                action.accept(next());
+            }
+        }
+
+        private Account next() {
+            if (random == null || index % BLOCK_SIZE == 0) {
+                random = blockRandom(index / BLOCK_SIZE);
+                for (long skipped = index % BLOCK_SIZE; skipped > 0; skipped--) {
+                    generate(index - skipped, random);
+                }
+            }
+            return generate(index++, random);
+        }
+
+        @Override
+        public Spliterator<Account> trySplit() {
+            long firstBlock = (index + BLOCK_SIZE - 1) / BLOCK_SIZE;
+            long lastBlock = end / BLOCK_SIZE;
+            if (lastBlock - firstBlock < 2) {
+                return null;
+            }
+            long middle = (firstBlock + (lastBlock - firstBlock) / 2) * BLOCK_SIZE;
+            AccountSpliterator prefix = new AccountSpliterator(index, middle);
+            prefix.random = random;
+            index = middle;
+            random = null;
+            return prefix;
+        }
+
+        @Override
+        public long estimateSize() {
+            return end - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return ORDERED | SIZED | SUBSIZED | NONNULL | IMMUTABLE | DISTINCT;
+        }
+    }
+}
@@ -0,0 +1,91 @@
+package ua.procamp.data;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+import ua.procamp.model.Account;
+
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+import java.util.Spliterator;
+
+import static java.util.stream.Collectors.toList;
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class AccountGeneratorTest {
+    private static final long SEED = 20_180_601L;
+    private static final LocalDate TODAY = LocalDate.of(2018, Month.JUNE, 1);
+    private static final int SIZE = 5 * AccountGenerator.BLOCK_SIZE + 17;
+
+    private final AccountGenerator generator = AccountGenerator.withSeed(SEED, TODAY);
+
+    @Test
+    public void testSameSeedAndDateGiveSameAccounts() {
+        List<String> accounts = describe(generator.stream(SIZE).collect(toList()));
+        List<String> sameAccounts = describe(AccountGenerator.withSeed(SEED, TODAY).stream(SIZE).collect(toList()));
+
+        assertEquals(accounts, sameAccounts);
+    }
+
+    @Test
+    public void testDifferentSeedsGiveDifferentAccounts() {
+        List<String> accounts = describe(generator.stream(100).collect(toList()));
+        List<String> otherAccounts = describe(AccountGenerator.withSeed(SEED + 1, TODAY).stream(100).collect(toList()));
+
+        assertNotEquals(accounts, otherAccounts);
+    }
+
+    @Test
+    public void testParallelStreamGivesSameAccounts() {
+        List<String> sequential = describe(generator.stream(SIZE).collect(toList()));
+        List<String> parallel = describe(generator.stream(SIZE).parallel().collect(toList()));
+
+        assertEquals(sequential, parallel);
+    }
+
+    @Test
+    public void testSplitsAtBlockBoundaries() {
+        List<String> sequential = describe(generator.stream(SIZE).collect(toList()));
+        List<Account> accounts = new ArrayList<>();
+
+        Spliterator<Account> suffix = generator.spliterator(SIZE);
+        suffix.tryAdvance(accounts::add);
+        Spliterator<Account> prefix = suffix.trySplit();
+        assertNotNull(prefix);
+        assertEquals(0, (SIZE - suffix.estimateSize()) % AccountGenerator.BLOCK_SIZE);
+        prefix.forEachRemaining(accounts::add);
+        suffix.forEachRemaining(accounts::add);
+
+        assertEquals(sequential, describe(accounts));
+    }
+
+    @Test
+    public void testGetGivesStreamedAccount() {
+        List<String> accounts = describe(generator.stream(SIZE).collect(toList()));
+
+        for (int index : new int[]{0, 1, AccountGenerator.BLOCK_SIZE - 1, AccountGenerator.BLOCK_SIZE, SIZE - 1}) {
+            assertEquals("Account " + index, accounts.get(index), generator.get(index).toString());
+        }
+    }
+
+    @Test
+    public void testEmailsAreUnique() {
+        Set<String> emails = new HashSet<>();
+        generator.stream(SIZE).forEach(account -> assertTrue(account.getEmail(), emails.add(account.getEmail())));
+
+        assertEquals(SIZE, emails.size());
+    }
+
+    /**
+     * {@link Account} equality is by email only, so accounts are compared by {@link Account#toString()}, which
+     * includes every field.
+     */
+    private static List<String> describe(List<Account> accounts) {
+        return accounts.stream().map(Account::toString).collect(toList());
+    }
+}
@@ -0,0 +1,201 @@
+package ua.procamp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+import ua.procamp.data.AccountGenerator;
+import ua.procamp.model.Account;
+
+import java.math.BigDecimal;
+import java.time.LocalDate;
+import java.time.Month;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures every {@link AccountAnalytics} query over generated accounts. Datasets are generated once per trial with a
+ * fixed seed, so results of different runs are comparable. Queries that use lazy indexes measure lookups in an
+ * already built index after the first invocation.
+ * <p>
+ * Run {@link #main(String[])} to measure every size in its own run with a heap sized for it, with allocation rates.
+ * Forks started from the jar use the default heap, so pass a heap for the sizes being measured, e.g.
+ * {@code java -jar target/benchmarks.jar AccountAnalyticsBenchmark -p size=10000000 -jvmArgs "-Xms8g -Xmx8g"}. 10
+ * million accounts need about 6 GB of heap.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode({Mode.Throughput, Mode.AverageTime})
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class AccountAnalyticsBenchmark {
+    private static final int[] SIZES = {10_000, 1_000_000, 10_000_000};
+    private static final long SEED = 20_180_601L;
+    private static final LocalDate TODAY = LocalDate.of(2018, Month.JUNE, 1);
+    private static final BigDecimal[] BALANCE_BOUNDARIES = {
+            BigDecimal.valueOf(1_000), BigDecimal.valueOf(10_000), BigDecimal.valueOf(50_000),
+            BigDecimal.valueOf(100_000), BigDecimal.valueOf(150_000)
+    };
+
+    /**
+     * Source of accounts: a list of {@link Account} objects or {@link AccountColumns}.
+     */
+    public enum Layout {
+        OBJECTS, COLUMNS
+    }
+
+    /**
+     * Sequential queries or queries in the common {@link java.util.concurrent.ForkJoinPool}.
+     */
+    public enum Execution {
+        SEQUENTIAL, PARALLEL
+    }
+
+    @Param({"10000", "1000000", "10000000"})
+    private int size;
+
+    @Param({"OBJECTS", "COLUMNS"})
+    private Layout layout;
+
+    @Param({"SEQUENTIAL", "PARALLEL"})
+    private Execution execution;
+
+    private AccountAnalytics analytics;
+    private String email;
+
+    @Setup
+    public void setUp() {
+        List<Account> accounts = AccountGenerator.withSeed(SEED, TODAY).list(size);
+        email = accounts.get(size / 2).getEmail();
+        analytics = layout == Layout.OBJECTS
+                ? AccountAnalytics.of(accounts)
+                : AccountAnalytics.of(AccountColumns.of(accounts));
+        if (execution == Execution.PARALLEL) {
+            analytics = analytics.parallel();
+        }
+    }
+
+    @Benchmark
+    public Optional<Account> findRichestPerson() {
+        return analytics.findRichestPerson();
+    }
+
+    @Benchmark
+    public List<Account> findRichestPersons() {
+        return analytics.findRichestPersons(10);
+    }
+
+    @Benchmark
+    public BalanceSketch summarizeBalances() {
+        return analytics.summarizeBalances(0.01);
+    }
+
+    @Benchmark
+    public long[] countAccountsByBalanceRanges() {
+        return analytics.countAccountsByBalanceRanges(BALANCE_BOUNDARIES);
+    }
+
+    @Benchmark
+    public List<Account> findAccountsByBirthdayMonth() {
+        return analytics.findAccountsByBirthdayMonth(Month.JULY);
+    }
+
+    @Benchmark
+    public Map<Boolean, List<Account>> partitionMaleAccounts() {
+        return analytics.partitionMaleAccounts();
+    }
+
+    @Benchmark
+    public Map<String, List<Account>> groupAccountsByEmailDomain() {
+        return analytics.groupAccountsByEmailDomain();
+    }
+
+    @Benchmark
+    public int getNumOfLettersInFirstAndLastNames() {
+        return analytics.getNumOfLettersInFirstAndLastNames();
+    }
+
+    @Benchmark
+    public BigDecimal calculateTotalBalance() {
+        return analytics.calculateTotalBalance();
+    }
+
+    @Benchmark
+    public List<Account> sortByFirstAndLastNames() {
+        return analytics.sortByFirstAndLastNames();
+    }
+
+    @Benchmark
+    public boolean containsAccountWithEmailDomain() {
+        return analytics.containsAccountWithEmailDomain("gmail.com");
+    }
+
+    @Benchmark
+    public BigDecimal getBalanceByEmail() {
+        return analytics.getBalanceByEmail(email);
+    }
+
+    @Benchmark
+    public Map<Long, Account> collectAccountsById() {
+        return analytics.collectAccountsById();
+    }
+
+    @Benchmark
+    public Map<String, BigDecimal> collectBalancesByIdForAccountsCreatedOn() {
+        return analytics.collectBalancesByIdForAccountsCreatedOn(2016);
+    }
+
+    @Benchmark
+    public Map<String, Set<String>> groupFirstNamesByLastNames() {
+        return analytics.groupFirstNamesByLastNames();
+    }
+
+    @Benchmark
+    public Map<Month, String> groupCommaSeparatedFirstNamesByBirthdayMonth() {
+        return analytics.groupCommaSeparatedFirstNamesByBirthdayMonth();
+    }
+
+    @Benchmark
+    public Map<Month, BigDecimal> groupTotalBalanceByCreationMonth() {
+        return analytics.groupTotalBalanceByCreationMonth();
+    }
+
+    @Benchmark
+    public Map<Character, Long> getCharacterFrequencyInFirstNames() {
+        return analytics.getCharacterFrequencyInFirstNames();
+    }
+
+    @Benchmark
+    public Map<Character, Long> getCharacterFrequencyIgnoreCaseInFirstAndLastNames() {
+        return analytics.getCharacterFrequencyIgnoreCaseInFirstAndLastNames();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int size : SIZES) {
+            String heap = Math.max(1024, size / 1250) + "m";
+            Options options = new OptionsBuilder()
+                    .include("\\." + AccountAnalyticsBenchmark.class.getSimpleName() + "\\.")
+                    .param("size", String.valueOf(size))
+                    .jvmArgsAppend("-Xms" + heap, "-Xmx" + heap)
+                    .addProfiler(GCProfiler.class)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+}
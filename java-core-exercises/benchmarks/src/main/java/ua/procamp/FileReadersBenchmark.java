@@ -0,0 +1,172 @@
+package ua.procamp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.IOException;
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * Measures {@link FileReaders} over generated fixtures with every reading mode and the original
+ * {@link Files#lines(Path)} implementation as a baseline. Reading modes are whole-file reads into a {@link String}, a
+ * {@link CharBuffer} and a future, concurrent reads of several files, chunk streams, reused lines and chunk
+ * callbacks. {@code bytes} in throughput results is bytes read per second. Fixtures are limited to 1 GB because
+ * whole-file variants create a {@link String}.
+ * <p>
+ * Run {@link #main(String[])} or {@code java -jar target/benchmarks.jar FileReadersBenchmark -prof gc}. Fixtures are
+ * generated once into the temporary directory and take about 9 GB of disk with the default parameters, see
+ * {@link TextFixture}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms8g", "-Xmx8g"})
+public class FileReadersBenchmark {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    @Param({"ASCII", "MIXED_UTF8", "LONG_LINES", "SHORT_LINES"})
+    private TextFixture fixture;
+
+    @Param({"1", "64", "1024"})
+    private int sizeInMegabytes;
+
+    private Path file;
+    private long size;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = fixture.get(sizeInMegabytes);
+        size = Files.size(file);
+    }
+
+    @Benchmark
+    public String readWholeFile(ByteThroughput throughput) throws IOException {
+        throughput.bytes += size;
+        return FileReaders.readWholeFile(file);
+    }
+
+    @Benchmark
+    public CharBuffer readWholeFileAsCharBuffer(ByteThroughput throughput) throws IOException {
+        throughput.bytes += size;
+        return FileReaders.readWholeFileAsCharBuffer(file);
+    }
+
+    @Benchmark
+    public String readWholeFileAsync(ByteThroughput throughput) {
+        throughput.bytes += size;
+        return FileReaders.readWholeFileAsync(file).join();
+    }
+
+    @Benchmark
+    public void readChunks(ByteThroughput throughput, Blackhole blackhole) throws IOException {
+        throughput.bytes += size;
+        try (Stream<CharBuffer> chunks = FileReaders.readChunks(file)) {
+            chunks.forEach(blackhole::consume);
+        }
+    }
+
+    @Benchmark
+    public void readLines(ByteThroughput throughput, Blackhole blackhole) throws IOException {
+        throughput.bytes += size;
+        try (LineIterator lines = FileReaders.readLines(file)) {
+            while (lines.hasNext()) {
+                blackhole.consume(lines.next());
+            }
+        }
+    }
+
+    @Benchmark
+    public void read(ByteThroughput throughput, Blackhole blackhole) throws IOException {
+        throughput.bytes += size;
+        FileReaders.read(file, StandardCharsets.UTF_8, BUFFER_SIZE, blackhole::consume);
+    }
+
+    /**
+     * Reads the fixture text split into {@value SplitFiles#FILES} files concurrently, as {@link FileReaders#readAll}
+     * does. {@code readAll} itself takes names of class path resources, which fixtures in the temporary directory are
+     * not, so the benchmark joins {@link FileReaders#readWholeFileAsync(Path)} futures of all files in the same way.
+     */
+    @Benchmark
+    public Map<Path, String> readAllAsync(SplitFiles split, ByteThroughput throughput) {
+        throughput.bytes += size;
+        List<Path> files = split.files;
+        List<CompletableFuture<String>> contents = files.stream()
+                .map(FileReaders::readWholeFileAsync)
+                .collect(toList());
+        CompletableFuture.allOf(contents.toArray(new CompletableFuture<?>[0])).join();
+        Map<Path, String> result = new LinkedHashMap<>();
+        for (int i = 0; i < files.size(); i++) {
+            result.put(files.get(i), contents.get(i).join());
+        }
+        return result;
+    }
+
+    /**
+     * The original {@code readWholeFile}: {@link Files#lines(Path)} joined with {@code \n} in a {@link StringBuilder}.
+     */
+    @Benchmark
+    public String filesLinesReadWholeFile(ByteThroughput throughput) throws IOException {
+        throughput.bytes += size;
+        StringBuilder content = new StringBuilder();
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            lines.forEach(line -> content.append(line).append("\n"));
+        }
+        if (content.length() > 0) {
+            content.deleteCharAt(content.length() - 1);
+        }
+        return content.toString();
+    }
+
+    /**
+     * The fixture text split into {@value #FILES} files, generated only for benchmarks that use it.
+     */
+    @State(Scope.Benchmark)
+    public static class SplitFiles {
+        private static final int FILES = 16;
+
+        private List<Path> files;
+
+        @Setup
+        public void setUp(FileReadersBenchmark benchmark) throws IOException {
+            try (Stream<Path> directory = Files.list(benchmark.fixture.directory(benchmark.sizeInMegabytes, FILES))) {
+                files = directory.sorted().collect(toList());
+            }
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FileReadersBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,266 @@
+package ua.procamp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Scanner;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+
+/**
+ * Measures building {@link FileStats} over generated fixtures with every reading mode, queries of built statistics,
+ * and the original {@link Scanner} and {@link BufferedReader} implementations as baselines. Reading modes are a path,
+ * a lazy first query, a channel, an input stream, gzip and zstd files, a {@link FileStatsCache} hit, parallel regions
+ * of a mapped file and a {@link FileStatsBatch} over a directory of files with the same total size. {@code bytes} in
+ * throughput results is bytes of uncompressed text per second.
+ * <p>
+ * Run {@link #main(String[])} or {@code java -jar target/benchmarks.jar FileStatsBenchmark -prof gc}. Fixtures are
+ * generated once into the temporary directory, see {@link TextFixture}. The default parameters need about 60 GB of
+ * disk for text, compressed copies and directories of every kind and size, pass e.g. {@code -p sizeInMegabytes=1,64}
+ * to generate less.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 2, time = 5)
+@Measurement(iterations = 5, time = 5)
+@Fork(value = 1, jvmArgsAppend = {"-Xms2g", "-Xmx2g"})
+public class FileStatsBenchmark {
+
+    @Param({"ASCII", "MIXED_UTF8", "LONG_LINES", "SHORT_LINES"})
+    private TextFixture fixture;
+
+    @Param({"1", "64", "1024", "4096"})
+    private int sizeInMegabytes;
+
+    private Path file;
+    private long size;
+    private FileStats fileStats;
+
+    @Setup
+    public void setUp() throws IOException {
+        file = fixture.get(sizeInMegabytes);
+        size = Files.size(file);
+        fileStats = FileStats.from(file);
+    }
+
+    @Benchmark
+    public FileStats from(ByteThroughput throughput) {
+        throughput.bytes += size;
+        return FileStats.from(file);
+    }
+
+    @Benchmark
+    public FileStats parallelFrom(ByteThroughput throughput) {
+        throughput.bytes += size;
+        return FileStats.parallelFrom(file, ForkJoinPool.commonPool());
+    }
+
+    @Benchmark
+    public int lazyFromFirstQuery(ByteThroughput throughput) {
+        throughput.bytes += size;
+        return FileStats.lazyFrom(file).getCharCount('a');
+    }
+
+    @Benchmark
+    public FileStats fromChannel(ByteThroughput throughput) throws IOException {
+        throughput.bytes += size;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            return FileStats.from(channel);
+        }
+    }
+
+    @Benchmark
+    public FileStats fromInputStream(ByteThroughput throughput) throws IOException {
+        throughput.bytes += size;
+        try (InputStream inputStream = Files.newInputStream(file)) {
+            return FileStats.from(inputStream);
+        }
+    }
+
+    @Benchmark
+    public FileStats fromGzip(GzipFile gzip, ByteThroughput throughput) {
+        throughput.bytes += size;
+        return FileStats.from(gzip.file);
+    }
+
+    @Benchmark
+    public FileStats fromZstd(ZstdFile zstd, ByteThroughput throughput) {
+        throughput.bytes += size;
+        return FileStats.from(zstd.file);
+    }
+
+    /**
+     * A cache hit checks the file identity and loads the cached histogram, {@code bytes} counts the text it stands for.
+     */
+    @Benchmark
+    public FileStats fromCache(Cache cache, ByteThroughput throughput) {
+        throughput.bytes += size;
+        return FileStats.from(file, cache.cache);
+    }
+
+    @Benchmark
+    public FileStats batch(BatchDirectory batch, ByteThroughput throughput) {
+        throughput.bytes += size;
+        return FileStatsBatch.of(batch.directory).run().getTotal();
+    }
+
+    @Benchmark
+    public int getCharCount() {
+        return fileStats.getCharCount('a');
+    }
+
+    @Benchmark
+    public char getMostPopularCharacter() {
+        return fileStats.getMostPopularCharacter();
+    }
+
+    @Benchmark
+    public boolean containsCharacter() {
+        return fileStats.containsCharacter('z');
+    }
+
+    /**
+     * The original {@code getCharCount}: tokens of a {@link Scanner}, here decoding UTF-8.
+     */
+    @Benchmark
+    public int scannerCharCount(ByteThroughput throughput) throws IOException {
+        throughput.bytes += size;
+        int count = 0;
+        try (Scanner scanner = new Scanner(file, StandardCharsets.UTF_8.name())) {
+            while (scanner.hasNext()) {
+                String token = scanner.next();
+                for (int i = 0; i < token.length(); i++) {
+                    if (token.charAt(i) == 'a') {
+                        count++;
+                    }
+                }
+            }
+        }
+        return count;
+    }
+
+    /**
+     * The original {@code getMostPopularCharacter}: lower-cased lines of a {@link BufferedReader}, here decoding UTF-8,
+     * counted in a {@link HashMap}.
+     */
+    @Benchmark
+    public char bufferedReaderMostPopularCharacter(ByteThroughput throughput) throws IOException {
+        throughput.bytes += size;
+        Map<Character, Integer> counts = new HashMap<>();
+        try (BufferedReader reader = Files.newBufferedReader(file, StandardCharsets.UTF_8)) {
+            for (String line = reader.readLine(); line != null; line = reader.readLine()) {
+                for (char character : line.toLowerCase().toCharArray()) {
+                    if (character != ' ') {
+                        counts.merge(character, 1, Integer::sum);
+                    }
+                }
+            }
+        }
+        return counts.entrySet().stream()
+                .max(Map.Entry.comparingByValue())
+                .map(Map.Entry::getKey)
+                .orElse(' ');
+    }
+
+    /**
+     * The fixture compressed with gzip, generated only for benchmarks that use it.
+     */
+    @State(Scope.Benchmark)
+    public static class GzipFile {
+        private Path file;
+
+        @Setup
+        public void setUp(FileStatsBenchmark benchmark) throws IOException {
+            file = benchmark.fixture.gzip(benchmark.sizeInMegabytes);
+        }
+    }
+
+    /**
+     * The fixture compressed with zstd, generated only for benchmarks that use it.
+     */
+    @State(Scope.Benchmark)
+    public static class ZstdFile {
+        private Path file;
+
+        @Setup
+        public void setUp(FileStatsBenchmark benchmark) throws IOException {
+            file = benchmark.fixture.zstd(benchmark.sizeInMegabytes);
+        }
+    }
+
+    /**
+     * A cache in a temporary directory that already holds the histogram of the fixture.
+     */
+    @State(Scope.Benchmark)
+    public static class Cache {
+        private Path directory;
+        private FileStatsCache cache;
+
+        @Setup
+        public void setUp(FileStatsBenchmark benchmark) throws IOException {
+            directory = Files.createTempDirectory("file-stats-cache");
+            cache = FileStatsCache.open(directory, Long.MAX_VALUE);
+            FileStats.from(benchmark.file, cache);
+        }
+
+        @TearDown
+        public void tearDown() throws IOException {
+            try (Stream<Path> entries = Files.list(directory)) {
+                for (Path entry : (Iterable<Path>) entries::iterator) {
+                    Files.delete(entry);
+                }
+            }
+            Files.delete(directory);
+        }
+    }
+
+    /**
+     * The fixture text split into {@value #FILES} files in a directory.
+     */
+    @State(Scope.Benchmark)
+    public static class BatchDirectory {
+        private static final int FILES = 16;
+
+        private Path directory;
+
+        @Setup
+        public void setUp(FileStatsBenchmark benchmark) throws IOException {
+            directory = benchmark.fixture.directory(benchmark.sizeInMegabytes, FILES);
+        }
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(FileStatsBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,119 @@
+package ua.procamp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures a {@link Queue} shared by all benchmark threads, each adding an element and polling one. The queue starts
+ * with {@value #INITIAL_SIZE} elements, so polls rarely find it empty.
+ * <p>
+ * Run {@link #main(String[])} to measure 1 to 64 threads, or
+ * {@code java -jar target/benchmarks.jar '\.QueueBenchmark\.' -t <threads>} for a single thread count. The pattern is
+ * anchored because {@code QueueBenchmark} alone also matches {@link RingBufferQueueBenchmark}.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class QueueBenchmark {
+    private static final int INITIAL_SIZE = 1024;
+    private static final int[] THREADS = {1, 2, 4, 8, 16, 32, 64};
+
+    /**
+     * Queue implementation under test.
+     */
+    public enum Implementation {
+        SYNCHRONIZED_LINKED {
+            @Override
+            Queue<Integer> create() {
+                return new SynchronizedQueue<>(new LinkedQueue<>());
+            }
+        },
+        CONCURRENT_LINKED {
+            @Override
+            Queue<Integer> create() {
+                return new ConcurrentLinkedQueue<>();
+            }
+        };
+
+        abstract Queue<Integer> create();
+    }
+
+    @Param({"SYNCHRONIZED_LINKED", "CONCURRENT_LINKED"})
+    private Implementation implementation;
+
+    private Queue<Integer> queue;
+    private final Integer element = 42;
+
+    @Setup
+    public void setUp() {
+        queue = implementation.create();
+        for (int i = 0; i < INITIAL_SIZE; i++) {
+            queue.add(element);
+        }
+    }
+
+    @Benchmark
+    public Integer addAndPoll() {
+        queue.add(element);
+        return queue.poll();
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        for (int threads : THREADS) {
+            Options options = new OptionsBuilder()
+                    .include("\\." + QueueBenchmark.class.getSimpleName() + "\\.")
+                    .threads(threads)
+                    .build();
+            new Runner(options).run();
+        }
+    }
+
+    /**
+     * {@link Queue} that guards every operation of another queue with its monitor.
+     */
+    static final class SynchronizedQueue<T> implements Queue<T> {
+        private final Queue<T> queue;
+
+        SynchronizedQueue(Queue<T> queue) {
+            this.queue = queue;
+        }
+
+        @Override
+        public synchronized void add(T element) {
+            queue.add(element);
+        }
+
+        @Override
+        public synchronized T poll() {
+            return queue.poll();
+        }
+
+        @Override
+        public synchronized int size() {
+            return queue.size();
+        }
+
+        @Override
+        public synchronized boolean isEmpty() {
+            return queue.isEmpty();
+        }
+    }
+}
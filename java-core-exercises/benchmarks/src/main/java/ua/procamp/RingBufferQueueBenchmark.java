@@ -0,0 +1,117 @@
+package ua.procamp;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Group;
+import org.openjdk.jmh.annotations.GroupThreads;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+import org.openjdk.jmh.profile.GCProfiler;
+import org.openjdk.jmh.runner.Runner;
+import org.openjdk.jmh.runner.RunnerException;
+import org.openjdk.jmh.runner.options.Options;
+import org.openjdk.jmh.runner.options.OptionsBuilder;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+/**
+ * Measures a {@link RingBufferQueue} shared by one producer thread and one consumer thread, adding and polling single
+ * elements and batches of {@value #BATCH_SIZE}. Scores of the producer and the consumer are reported separately; a
+ * failed offer or an empty poll counts as an operation too, so compare scores together with the GC profiler, which
+ * shows that the steady state does not allocate.
+ * <p>
+ * Run {@link #main(String[])} or {@code java -jar target/benchmarks.jar RingBufferQueueBenchmark -prof gc}.
+ */
+@State(Scope.Group)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class RingBufferQueueBenchmark {
+    private static final int BATCH_SIZE = 64;
+
+    /**
+     * Queue implementation under test.
+     */
+    public enum Implementation {
+        SPSC {
+            @Override
+            RingBufferQueue<Integer> create(int capacity) {
+                return new SpscRingBufferQueue<>(capacity);
+            }
+        },
+        MPSC {
+            @Override
+            RingBufferQueue<Integer> create(int capacity) {
+                return new MpscRingBufferQueue<>(capacity);
+            }
+        };
+
+        abstract RingBufferQueue<Integer> create(int capacity);
+    }
+
+    @Param({"SPSC", "MPSC"})
+    private Implementation implementation;
+
+    @Param({"1024", "65536"})
+    private int capacity;
+
+    private RingBufferQueue<Integer> queue;
+    private final Integer element = 42;
+    private final Integer[] batch = new Integer[BATCH_SIZE];
+    private Consumer<Integer> consumer;
+
+    @Setup
+    public void setUp(Blackhole blackhole) {
+        queue = implementation.create(capacity);
+        Arrays.fill(batch, element);
+        consumer = blackhole::consume;
+    }
+
+    @Benchmark
+    @Group("single")
+    @GroupThreads(1)
+    public boolean offer() {
+        return queue.offer(element);
+    }
+
+    @Benchmark
+    @Group("single")
+    @GroupThreads(1)
+    public Integer poll() {
+        return queue.poll();
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public boolean offerAll() {
+        return queue.offerAll(batch);
+    }
+
+    @Benchmark
+    @Group("batch")
+    @GroupThreads(1)
+    public int drainTo() {
+        return queue.drainTo(consumer, BATCH_SIZE);
+    }
+
+    public static void main(String[] args) throws RunnerException {
+        Options options = new OptionsBuilder()
+                .include(RingBufferQueueBenchmark.class.getSimpleName())
+                .addProfiler(GCProfiler.class)
+                .build();
+        new Runner(options).run();
+    }
+}
@@ -0,0 +1,228 @@
+package ua.procamp;
+
+import com.github.luben.zstd.ZstdOutputStream;
+
+import java.io.FilterOutputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardCopyOption;
+import java.util.SplittableRandom;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * {@link TextFixture} generates synthetic text files for I/O benchmarks. A file is a sequence of blocks of about 1 MB
+ * of generated lines, each block from its own seed, so compressors and caches do not see a repeated block. A file ends
+ * with a whole line, the last block is cut at a line break near the requested size. The same text is also available
+ * compressed with gzip and zstd, and split into a directory of files. Files are kept in {@code procamp-fixtures} under
+ * the temporary directory and reused by later runs, delete the directory to free the disk space.
+ */
+public enum TextFixture {
+    /**
+     * Lower case ASCII words in lines of about 80 characters.
+     */
+    ASCII {
+        @Override
+        void appendLine(StringBuilder block, SplittableRandom random) {
+            appendWords(block, random, 80, "abcdefghijklmnopqrstuvwxyz");
+        }
+    },
+    /**
+     * Words of Latin, Polish, Cyrillic, CJK characters and emoji in lines of about 80 characters.
+     */
+    MIXED_UTF8 {
+        @Override
+        void appendLine(StringBuilder block, SplittableRandom random) {
+            appendWords(block, random, 80,
+                    "abcdefghijklmnoprstuwyz\u0105\u0107\u0119\u0142\u0144\u00f3\u015b\u017a\u017c"
+                            + "\u0430\u0431\u0432\u0433\u0434\u0435\u0436\u0437\u0438\u043a\u043b\u043c"
+                            + "\u65e5\u672c\u8a9e\u6587\u5b57\ud83d\ude00\ud83d\ude80");
+        }
+    },
+    /**
+     * ASCII words in a single line per block.
+     */
+    LONG_LINES {
+        @Override
+        void appendLine(StringBuilder block, SplittableRandom random) {
+            appendWords(block, random, BLOCK_SIZE, "abcdefghijklmnopqrstuvwxyz");
+        }
+    },
+    /**
+     * ASCII lines of 1 to 10 characters.
+     */
+    SHORT_LINES {
+        @Override
+        void appendLine(StringBuilder block, SplittableRandom random) {
+            appendWords(block, random, 1 + random.nextInt(10), "abcdefghijklmnopqrstuvwxyz");
+        }
+    };
+
+    static final int BLOCK_SIZE = 1 << 20;
+    private static final Path FIXTURES = Paths.get(System.getProperty("java.io.tmpdir"), "procamp-fixtures");
+    private static final long SEED = 42;
+
+    abstract void appendLine(StringBuilder block, SplittableRandom random);
+
+    /**
+     * Returns a fixture file of this kind, generating it if it does not exist yet.
+     *
+     * @param sizeInMegabytes approximate size of the file
+     * @return path of the file
+     * @throws IOException if the file cannot be written
+     */
+    public Path get(int sizeInMegabytes) throws IOException {
+        long size = (long) sizeInMegabytes * BLOCK_SIZE;
+        return create(fileName(sizeInMegabytes) + ".txt", out -> writeBlocks(out, size));
+    }
+
+    /**
+     * Returns the fixture file of this kind compressed with gzip, generating it if it does not exist yet.
+     *
+     * @param sizeInMegabytes approximate size of the uncompressed file
+     * @return path of the compressed file
+     * @throws IOException if the file cannot be written
+     */
+    public Path gzip(int sizeInMegabytes) throws IOException {
+        Path text = get(sizeInMegabytes);
+        return create(fileName(sizeInMegabytes) + ".txt.gz", out -> {
+            try (OutputStream gzip = new GZIPOutputStream(new NonClosingOutputStream(out), 1 << 16)) {
+                Files.copy(text, gzip);
+            }
+        });
+    }
+
+    /**
+     * Returns the fixture file of this kind compressed with zstd, generating it if it does not exist yet.
+     *
+     * @param sizeInMegabytes approximate size of the uncompressed file
+     * @return path of the compressed file
+     * @throws IOException if the file cannot be written
+     */
+    public Path zstd(int sizeInMegabytes) throws IOException {
+        Path text = get(sizeInMegabytes);
+        return create(fileName(sizeInMegabytes) + ".txt.zst", out -> {
+            try (OutputStream zstd = new ZstdOutputStream(new NonClosingOutputStream(out))) {
+                Files.copy(text, zstd);
+            }
+        });
+    }
+
+    /**
+     * Returns a directory with files of this kind that have the requested total size, generating them if they do not
+     * exist yet.
+     *
+     * @param sizeInMegabytes approximate total size of the files
+     * @param files           number of files
+     * @return path of the directory
+     * @throws IOException if the files cannot be written
+     */
+    public Path directory(int sizeInMegabytes, int files) throws IOException {
+        String directoryName = fileName(sizeInMegabytes) + "-" + files + "files";
+        long size = (long) sizeInMegabytes * BLOCK_SIZE / files;
+        for (int i = 0; i < files; i++) {
+            create(directoryName + "/" + i + ".txt", out -> writeBlocks(out, size));
+        }
+        return FIXTURES.resolve(directoryName);
+    }
+
+    private String fileName(int sizeInMegabytes) {
+        return name().toLowerCase() + "-" + sizeInMegabytes + "mb";
+    }
+
+    private static Path create(String fileName, Content content) throws IOException {
+        Path file = FIXTURES.resolve(fileName);
+        if (Files.exists(file)) {
+            return file;
+        }
+        Files.createDirectories(file.getParent());
+        Path temporary = Files.createTempFile(file.getParent(), "fixture", ".tmp");
+        try {
+            try (OutputStream out = Files.newOutputStream(temporary)) {
+                content.writeTo(out);
+            }
+            return Files.move(temporary, file, StandardCopyOption.REPLACE_EXISTING);
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void writeBlocks(OutputStream out, long size) throws IOException {
+        for (long index = 0, remaining = size; remaining > 0; index++) {
+            byte[] block = block(index);
+            if (block.length >= remaining) {
+                out.write(block, 0, lineEnd(block, (int) remaining));
+                return;
+            }
+            out.write(block);
+            remaining -= block.length;
+        }
+    }
+
+    private byte[] block(long index) {
+        SplittableRandom random = new SplittableRandom(SEED + index);
+        StringBuilder block = new StringBuilder();
+        while (block.length() < BLOCK_SIZE) {
+            appendLine(block, random);
+            block.append('\n');
+        }
+        return block.toString().getBytes(StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a length of the block up to the last line break within the limit, or up to the first line break if
+     * there is none.
+     */
+    private static int lineEnd(byte[] block, int limit) {
+        for (int i = limit; i > 0; i--) {
+            if (block[i - 1] == '\n') {
+                return i;
+            }
+        }
+        int i = limit;
+        while (block[i - 1] != '\n') {
+            i++;
+        }
+        return i;
+    }
+
+    private static void appendWords(StringBuilder block, SplittableRandom random, int lineLength, String alphabet) {
+        int[] codePoints = alphabet.codePoints().toArray();
+        for (int length = 0; length < lineLength; ) {
+            if (length > 0) {
+                block.append(' ');
+                length++;
+            }
+            for (int wordLength = 1 + random.nextInt(10); wordLength > 0 && length < lineLength; wordLength--) {
+                block.appendCodePoint(codePoints[random.nextInt(codePoints.length)]);
+                length++;
+            }
+        }
+    }
+
+    private interface Content {
+        void writeTo(OutputStream out) throws IOException;
+    }
+
+    /**
+     * Leaves the file stream to {@link #create(String, Content)}, which closes it after a compressor finishes.
+     */
+    private static final class NonClosingOutputStream extends FilterOutputStream {
+        NonClosingOutputStream(OutputStream out) {
+            super(out);
+        }
+
+        @Override
+        public void write(byte[] b, int off, int len) throws IOException {
+            out.write(b, off, len);
+        }
+
+        @Override
+        public void close() throws IOException {
+            flush();
+        }
+    }
+}
@@ -0,0 +1,134 @@
+package ua.procamp;
+
+import java.io.EOFException;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.AsynchronousFileChannel;
+import java.nio.channels.CompletionHandler;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * {@link AsyncWholeFileRead} reads a whole file into an array of its size with {@link AsynchronousFileChannel}. The file
+ * is split into segments, and up to {@value #MAX_READS_IN_FLIGHT} segments are read at the same time. A segment that
+ * is read partially is continued from where it stopped. No thread is blocked while reads are in flight.
+ */
+final class AsyncWholeFileRead implements CompletionHandler<Integer, ByteBuffer> {
+    static final int MAX_READS_IN_FLIGHT = 4;
+    private static final int SEGMENT_SIZE = 1 << 20;
+
+    private final Path path;
+    private final AsynchronousFileChannel channel;
+    private final byte[] bytes;
+    private final int segmentSize;
+    private final int segments;
+    private final AtomicInteger nextSegment = new AtomicInteger();
+    private final AtomicInteger remainingSegments;
+    private final CompletableFuture<byte[]> result = new CompletableFuture<>();
+
+    private AsyncWholeFileRead(Path path, AsynchronousFileChannel channel, byte[] bytes, int segmentSize) {
+        this.path = path;
+        this.channel = channel;
+        this.bytes = bytes;
+        this.segmentSize = segmentSize;
+        this.segments = (int) (((long) bytes.length + segmentSize - 1) / segmentSize);
+        this.remainingSegments = new AtomicInteger(segments);
+    }
+
+    /**
+     * Starts reading the file.
+     *
+     * @param path        file to read
+     * @param maxSize     max size of the file
+     * @param segmentSize size of a segment read at once
+     * @return future content of the file
+     */
+    static CompletableFuture<byte[]> read(Path path, int maxSize, int segmentSize) {
+        AsynchronousFileChannel channel = null;
+        try {
+            channel = AsynchronousFileChannel.open(path, StandardOpenOption.READ);
+            long size = channel.size();
+            if (size > maxSize) {
+                throw new IOException("File " + path + " of " + size + " bytes is too large for a String");
+            }
+            AsyncWholeFileRead read = new AsyncWholeFileRead(path, channel, new byte[(int) size], segmentSize);
+            read.start();
+            return read.result;
+        } catch (IOException | RuntimeException e) {
+            closeQuietly(channel, e);
+            CompletableFuture<byte[]> failure = new CompletableFuture<>();
+            failure.completeExceptionally(e);
+            return failure;
+        }
+    }
+
+    static CompletableFuture<byte[]> read(Path path, int maxSize) {
+        return read(path, maxSize, SEGMENT_SIZE);
+    }
+
+    private void start() {
+        if (segments == 0) {
+            complete();
+            return;
+        }
+        for (int i = 0; i < Math.min(MAX_READS_IN_FLIGHT, segments); i++) {
+            readNextSegment();
+        }
+    }
+
+    private void readNextSegment() {
+        int segment = nextSegment.getAndIncrement();
+        if (segment < segments) {
+            int offset = segment * segmentSize;
+            int length = Math.min(segmentSize, bytes.length - offset);
+            ByteBuffer buffer = ByteBuffer.wrap(bytes, offset, length);
+            channel.read(buffer, offset, buffer, this);
+        }
+    }
+
+    @Override
+    public void completed(Integer read, ByteBuffer segment) {
+        if (result.isDone()) {
+            return;
+        }
+        if (read == -1) {
+            failed(new EOFException("File " + path + " was truncated while it was read"), segment);
+        } else if (segment.hasRemaining()) {
+            // positions of segment buffers are positions in the file
+            channel.read(segment, segment.position(), segment, this);
+        } else if (remainingSegments.decrementAndGet() == 0) {
+            complete();
+        } else {
+            readNextSegment();
+        }
+    }
+
+    @Override
+    public void failed(Throwable failure, ByteBuffer segment) {
+        if (result.completeExceptionally(failure)) {
+            closeQuietly(channel, failure);
+        }
+    }
+
+    private void complete() {
+        try {
+            channel.close();
+        } catch (IOException e) {
+            result.completeExceptionally(e);
+            return;
+        }
+        result.complete(bytes);
+    }
+
+    private static void closeQuietly(AsynchronousFileChannel channel, Throwable failure) {
+        if (channel != null) {
+            try {
+                channel.close();
+            } catch (IOException e) {
+                failure.addSuppressed(e);
+            }
+        }
+    }
+}
@@ -0,0 +1,74 @@
+package ua.procamp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.CharBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * {@link ChunkReader} decodes a file into chunks of characters through a byte buffer of a fixed size, so reading a file
+ * of any size takes the same memory. Not thread-safe.
+ */
+final class ChunkReader implements Closeable {
+    static final int MIN_BUFFER_SIZE = 16;
+
+    private final FileChannel channel;
+    private final CharsetDecoder decoder;
+    private final ByteBuffer bytes;
+    private boolean endOfInput;
+    private boolean flushed;
+
+    ChunkReader(Path path, Charset charset, int bufferSize) throws IOException {
+        if (bufferSize < MIN_BUFFER_SIZE) {
+            throw new IllegalArgumentException("Buffer size must be at least " + MIN_BUFFER_SIZE + ": " + bufferSize);
+        }
+        this.decoder = charset.newDecoder()
+                .onMalformedInput(CodingErrorAction.REPLACE)
+                .onUnmappableCharacter(CodingErrorAction.REPLACE);
+        this.bytes = ByteBuffer.allocate(bufferSize);
+        this.channel = FileChannel.open(path, StandardOpenOption.READ);
+    }
+
+    /**
+     * Decodes the next chunk into the buffer, replacing its content. The chunk is as long as the buffer, except the
+     * last one.
+     *
+     * @param chars buffer to decode into, it is flipped for reading
+     * @return {@code false} if there are no more characters
+     * @throws IOException if the file cannot be read
+     */
+    boolean read(CharBuffer chars) throws IOException {
+        chars.clear();
+        while (chars.hasRemaining() && !flushed) {
+            if (!endOfInput && channel.read(bytes) == -1) {
+                endOfInput = true;
+            }
+            bytes.flip();
+            CoderResult result = decoder.decode(bytes, chars, endOfInput);
+            bytes.compact();
+            if (result.isOverflow()) {
+                break;
+            }
+            if (endOfInput) {
+                if (decoder.flush(chars).isOverflow()) {
+                    break;
+                }
+                flushed = true;
+            }
+        }
+        chars.flip();
+        return chars.hasRemaining();
+    }
+
+    @Override
+    public void close() throws IOException {
+        channel.close();
+    }
+}
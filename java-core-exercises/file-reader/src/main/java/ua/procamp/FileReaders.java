@@ -1,37 +1,322 @@
 package ua.procamp;
 
+import java.io.ByteArrayOutputStream;
 import java.io.IOException;
-import java.net.URI;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
 import java.net.URISyntaxException;
+import java.net.URL;
+import java.nio.CharBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.Charset;
+import java.nio.charset.CharsetDecoder;
+import java.nio.charset.CoderResult;
+import java.nio.charset.CodingErrorAction;
 import java.nio.charset.StandardCharsets;
 import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
 import java.nio.file.Paths;
-import java.util.Objects;
+import java.nio.file.StandardOpenOption;
+import java.util.Collection;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Spliterator;
+import java.util.Spliterators;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Consumer;
 import java.util.stream.Stream;
+import java.util.stream.StreamSupport;
+
+import static java.util.stream.Collectors.toList;
 
 /**
  * {@link FileReaders} privides an API that allow to read whole file into a {@link String} by file name.
+ * <p>
+ * Files are decoded as UTF-8 exactly as they are, including their line endings. Malformed input is replaced with
+ * {@code U+FFFD}.
+ * <p>
+ * Files that do not fit into memory can be read in chunks of a fixed size with {@link #readChunks(Path)},
+ * {@link #readLines(Path)} or {@link #read(Path, Charset, int, Consumer)}.
  */
 public class FileReaders {
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+    private static final int MAX_REGION_SIZE = 1 << 30;
+    private static final int MAX_BYTES_PER_CHAR = 3;
+    private static final int MAX_UTF8_SEQUENCE_LENGTH = 4;
+    private static final int DEFAULT_BUFFER_SIZE = 1 << 16;
 
     /**
      * Returns a {@link String} that contains whole text from the file specified by name.
      *
      * @param fileName a name of a text file
      * @return string that holds whole file content
+     * @throws IOException if the file is not found or cannot be read
+     */
+    public static String readWholeFile(String fileName) throws URISyntaxException, IOException {
+        return readWholeFile(resolve(fileName));
+    }
+
+    /**
+     * Returns a {@link String} that contains whole text from the file. The file is read into an array of its size and
+     * decoded at once.
+     *
+     * @param path a text file
+     * @return string that holds whole file content
+     * @throws IOException if the file cannot be read or does not fit into a {@link String}
+     */
+    public static String readWholeFile(Path path) throws IOException {
+        long size = Files.size(path);
+        if (size > MAX_ARRAY_SIZE) {
+            throw new IOException("File " + path + " of " + size + " bytes is too large for a String");
+        }
+        return new String(Files.readAllBytes(path), StandardCharsets.UTF_8);
+    }
+
+    /**
+     * Returns a future {@link String} that contains whole text from the file specified by name. The calling thread is
+     * not blocked by reading. A resource packed into a jar is read as a stream in the common pool. Errors, including a
+     * missing file, complete the future exceptionally.
+     *
+     * @param fileName a name of a text file
+     * @return future string that holds whole file content
+     * @see #readWholeFileAsync(Path)
      */
-    public static String readWholeFile(String fileName) throws URISyntaxException {
-        URI path = Objects.requireNonNull(FileReaders.class
-                .getClassLoader().getResource(fileName)).toURI();
-        StringBuilder contentBuilder = new StringBuilder();
-        try (Stream<String> stream = Files.lines(Paths.get(path), StandardCharsets.UTF_8)) {
-            stream.forEach(s -> contentBuilder.append(s).append("\n"));
-        } catch (IOException e) {
-            e.printStackTrace();
+    public static CompletableFuture<String> readWholeFileAsync(String fileName) {
+        try {
+            URL resource = findResource(fileName);
+            if ("file".equals(resource.getProtocol())) {
+                return readWholeFileAsync(Paths.get(resource.toURI()));
+            }
+            return readWholeResourceAsync(resource);
+        } catch (URISyntaxException | IOException | RuntimeException e) {
+            CompletableFuture<String> failure = new CompletableFuture<>();
+            failure.completeExceptionally(e);
+            return failure;
         }
-        if (contentBuilder.length() > 0) {
-            contentBuilder.deleteCharAt(contentBuilder.length() - 1);
+    }
+
+    /**
+     * Returns a future {@link String} that contains whole text from the file. The file is read into an array of its
+     * size with {@link java.nio.channels.AsynchronousFileChannel} by several overlapping reads, and the calling thread
+     * is not blocked by reading. Errors complete the future exceptionally.
+     *
+     * @param path a text file
+     * @return future string that holds whole file content
+     */
+    public static CompletableFuture<String> readWholeFileAsync(Path path) {
+        return AsyncWholeFileRead.read(path, MAX_ARRAY_SIZE)
+                .thenApply(bytes -> new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    /**
+     * Reads files specified by names concurrently. The future completes when all files are read or exceptionally when
+     * any of them fails.
+     *
+     * @param fileNames names of text files
+     * @return future map of file names to their content in the order of names
+     */
+    public static CompletableFuture<Map<String, String>> readAll(Collection<String> fileNames) {
+        List<String> names = fileNames.stream().distinct().collect(toList());
+        List<CompletableFuture<String>> contents = names.stream()
+                .map(FileReaders::readWholeFileAsync)
+                .collect(toList());
+        return CompletableFuture.allOf(contents.toArray(new CompletableFuture<?>[0]))
+                .thenApply(ignored -> {
+                    Map<String, String> result = new LinkedHashMap<>();
+                    for (int i = 0; i < names.size(); i++) {
+                        result.put(names.get(i), contents.get(i).join());
+                    }
+                    return result;
+                });
+    }
+
+    /**
+     * Returns a {@link CharBuffer} that contains whole text from the file specified by name.
+     *
+     * @param fileName a name of a text file
+     * @return buffer that holds whole file content
+     * @throws IOException if the file is not found or cannot be read
+     * @see #readWholeFileAsCharBuffer(Path)
+     */
+    public static CharBuffer readWholeFileAsCharBuffer(String fileName) throws URISyntaxException, IOException {
+        return readWholeFileAsCharBuffer(resolve(fileName));
+    }
+
+    /**
+     * Returns a {@link CharBuffer} that contains whole text from the file, without creating a {@link String}. The file
+     * is memory-mapped by regions of up to 1 GB and decoded straight into a buffer sized by the file length. Like any
+     * {@link CharSequence}, the buffer holds at most {@link Integer#MAX_VALUE} characters, so a file larger than 2 GB
+     * fits only if it is mostly multi-byte text, and a file larger than 6 GB never fits and is rejected before reading.
+     *
+     * @param path a text file
+     * @return buffer that holds whole file content, positioned at its beginning
+     * @throws IOException if the file cannot be read or has too many characters
+     */
+    public static CharBuffer readWholeFileAsCharBuffer(Path path) throws IOException {
+        return readWholeFileAsCharBuffer(path, MAX_REGION_SIZE);
+    }
+
+    static CharBuffer readWholeFileAsCharBuffer(Path path, int regionSize) throws IOException {
+        if (regionSize < MAX_UTF8_SEQUENCE_LENGTH) {
+            throw new IllegalArgumentException("Region must hold a 4-byte UTF-8 sequence: " + regionSize);
+        }
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            long size = channel.size();
+            if (size > (long) MAX_BYTES_PER_CHAR * MAX_ARRAY_SIZE) {
+                throw new IOException("File " + path + " of " + size + " bytes has more than " + MAX_ARRAY_SIZE
+                        + " characters");
+            }
+            // UTF-8 never takes less than a byte per char
+            CharBuffer chars = CharBuffer.allocate((int) Math.min(size, MAX_ARRAY_SIZE));
+            CharsetDecoder decoder = StandardCharsets.UTF_8.newDecoder()
+                    .onMalformedInput(CodingErrorAction.REPLACE)
+                    .onUnmappableCharacter(CodingErrorAction.REPLACE);
+            long position = 0;
+            do {
+                MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, position,
+                        Math.min(size - position, regionSize));
+                boolean lastRegion = position + region.capacity() == size;
+                CoderResult result = decoder.decode(region, chars, lastRegion);
+                if (result.isOverflow()) {
+                    throw new IOException("File " + path + " has more than " + MAX_ARRAY_SIZE + " characters");
+                }
+                // bytes of a character split by the region end are mapped again with the next region
+                position += region.position();
+            } while (position < size);
+            if (decoder.flush(chars).isOverflow()) {
+                throw new IOException("File " + path + " has more than " + MAX_ARRAY_SIZE + " characters");
+            }
+            chars.flip();
+            return chars;
+        }
+    }
+
+    /**
+     * Returns a lazy stream of UTF-8 text chunks of the file, each of 64K characters except the last one. The stream
+     * must be closed to close the file.
+     *
+     * @param path a text file
+     * @return stream of chunks
+     * @throws IOException if the file cannot be opened
+     */
+    public static Stream<CharBuffer> readChunks(Path path) throws IOException {
+        return readChunks(path, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns a lazy stream of text chunks of the file. Every chunk is a new buffer that can be kept, and only the
+     * chunks that are kept take memory. The stream must be closed to close the file. Read errors are thrown as
+     * {@link UncheckedIOException}.
+     *
+     * @param path       a text file
+     * @param charset    charset of the file
+     * @param bufferSize size of a chunk in characters and of a read buffer in bytes, at least 16
+     * @return stream of chunks
+     * @throws IOException if the file cannot be opened
+     */
+    public static Stream<CharBuffer> readChunks(Path path, Charset charset, int bufferSize) throws IOException {
+        ChunkReader reader = new ChunkReader(path, charset, bufferSize);
+        Spliterator<CharBuffer> chunks = new Spliterators.AbstractSpliterator<CharBuffer>(Long.MAX_VALUE,
+                Spliterator.ORDERED | Spliterator.NONNULL) {
+            @Override
+            public boolean tryAdvance(Consumer<? super CharBuffer> action) {
+                CharBuffer chunk = CharBuffer.allocate(bufferSize);
+                try {
+                    if (!reader.read(chunk)) {
+                        return false;
+                    }
+                } catch (IOException e) {
+                    throw new UncheckedIOException(e);
+                }
+                action.accept(chunk);
+                return true;
+            }
+        };
+        return StreamSupport.stream(chunks, false).onClose(() -> {
+            try {
+                reader.close();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        });
+    }
+
+    /**
+     * Returns an iterator over UTF-8 lines of the file that reuses its buffers.
+     *
+     * @param path a text file
+     * @return iterator over lines
+     * @throws IOException if the file cannot be opened
+     * @see LineIterator
+     */
+    public static LineIterator readLines(Path path) throws IOException {
+        return readLines(path, StandardCharsets.UTF_8, DEFAULT_BUFFER_SIZE);
+    }
+
+    /**
+     * Returns an iterator over lines of the file that reuses its buffers.
+     *
+     * @param path       a text file
+     * @param charset    charset of the file
+     * @param bufferSize size of a read buffer in bytes and of a chunk in characters, at least 16
+     * @return iterator over lines
+     * @throws IOException if the file cannot be opened
+     * @see LineIterator
+     */
+    public static LineIterator readLines(Path path, Charset charset, int bufferSize) throws IOException {
+        return new LineIterator(new ChunkReader(path, charset, bufferSize), bufferSize);
+    }
+
+    /**
+     * Reads the file passing chunks of text to the consumer. The same buffer is passed every time, so the consumer must
+     * copy characters it wants to keep. Memory use depends only on the buffer size.
+     *
+     * @param path       a text file
+     * @param charset    charset of the file
+     * @param bufferSize size of a chunk in characters and of a read buffer in bytes, at least 16
+     * @param consumer   consumer of chunks
+     * @throws IOException if the file cannot be read
+     */
+    public static void read(Path path, Charset charset, int bufferSize, Consumer<CharBuffer> consumer)
+            throws IOException {
+        try (ChunkReader reader = new ChunkReader(path, charset, bufferSize)) {
+            CharBuffer chunk = CharBuffer.allocate(bufferSize);
+            while (reader.read(chunk)) {
+                consumer.accept(chunk);
+            }
+        }
+    }
+
+    private static CompletableFuture<String> readWholeResourceAsync(URL resource) {
+        CompletableFuture<String> content = new CompletableFuture<>();
+        ForkJoinPool.commonPool().execute(() -> {
+            try (InputStream inputStream = resource.openStream()) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                byte[] buffer = new byte[DEFAULT_BUFFER_SIZE];
+                for (int read; (read = inputStream.read(buffer)) != -1; ) {
+                    bytes.write(buffer, 0, read);
+                }
+                content.complete(new String(bytes.toByteArray(), StandardCharsets.UTF_8));
+            } catch (IOException | RuntimeException e) {
+                content.completeExceptionally(e);
+            }
+        });
+        return content;
+    }
+
+    private static Path resolve(String fileName) throws URISyntaxException, NoSuchFileException {
+        return Paths.get(findResource(fileName).toURI());
+    }
+
+    private static URL findResource(String fileName) throws NoSuchFileException {
+        URL resource = FileReaders.class.getClassLoader().getResource(fileName);
+        if (resource == null) {
+            throw new NoSuchFileException(fileName);
         }
-        return contentBuilder.toString();
+        return resource;
     }
 }
@@ -0,0 +1,97 @@
+package ua.procamp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.CharBuffer;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+
+/**
+ * {@link LineIterator} iterates over lines of a file without their terminators: {@code \n}, {@code \r\n} or
+ * {@code \r}. Lines are returned in a single reused {@link StringBuilder} that is valid until the next call of
+ * {@link #next()}, so iterating allocates nothing but the buffers. Call {@code toString()} to keep a line. The file is
+ * closed at the end of iteration or by {@link #close()}. Not thread-safe.
+ */
+public final class LineIterator implements Iterator<CharSequence>, Closeable {
+    private final ChunkReader reader;
+    private final CharBuffer chunk;
+    private final StringBuilder line = new StringBuilder();
+    private boolean skipLineFeed;
+    private boolean ready;
+    private boolean finished;
+
+    LineIterator(ChunkReader reader, int bufferSize) {
+        this.reader = reader;
+        this.chunk = CharBuffer.allocate(bufferSize);
+        this.chunk.flip();
+    }
+
+    @Override
+    public boolean hasNext() {
+        if (!ready && !finished) {
+            try {
+                ready = readLine();
+                if (!ready) {
+                    close();
+                }
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        return ready;
+    }
+
+    /**
+     * Returns the next line in a reused builder.
+     *
+     * @return the next line, valid until the next call
+     */
+    @Override
+    public CharSequence next() {
+        if (!hasNext()) {
+            throw new NoSuchElementException();
+        }
+        ready = false;
+        return line;
+    }
+
+    private boolean readLine() throws IOException {
+        line.setLength(0);
+        boolean hasCharacters = false;
+        while (true) {
+            if (!chunk.hasRemaining() && !reader.read(chunk)) {
+                return hasCharacters;
+            }
+            char[] chars = chunk.array();
+            int start = chunk.arrayOffset() + chunk.position();
+            int end = chunk.arrayOffset() + chunk.limit();
+            if (skipLineFeed) {
+                skipLineFeed = false;
+                if (chars[start] == '\n') {
+                    chunk.position(chunk.position() + 1);
+                    continue;
+                }
+            }
+            for (int i = start; i < end; i++) {
+                char c = chars[i];
+                if (c == '\n' || c == '\r') {
+                    line.append(chars, start, i - start);
+                    skipLineFeed = c == '\r';
+                    chunk.position(i + 1 - chunk.arrayOffset());
+                    return true;
+                }
+            }
+            line.append(chars, start, end - start);
+            chunk.position(chunk.limit());
+            hasCharacters = true;
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        finished = true;
+        ready = false;
+        reader.close();
+    }
+}
@@ -1,15 +1,34 @@
 package ua.procamp;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
 import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
 
 import lombok.SneakyThrows;
 
+import java.nio.CharBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+
 @RunWith(JUnit4.class)
 public class FileReadersTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
     @Test
     @SneakyThrows
@@ -39,4 +58,163 @@ public class FileReadersTest {
 
         assertEquals("Hello!\n" + "It's a test file.", fileContent);
     }
+
+    @Test
+    @SneakyThrows
+    public void testReadWholeFilePreservesLineEndings() {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "Hey!\r\n\r\nWhat's up?\r\nHi!\n".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals("Hey!\r\n\r\nWhat's up?\r\nHi!\n", FileReaders.readWholeFile(file));
+    }
+
+    @Test(expected = NoSuchFileException.class)
+    @SneakyThrows
+    public void testReadWholeFileOnNonExistingFile() {
+        FileReaders.readWholeFile("blahblah.txt");
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadWholeFileAsCharBuffer() {
+        CharBuffer fileContent = FileReaders.readWholeFileAsCharBuffer("simple.txt");
+
+        assertEquals("Hello!\n" + "It's a test file.", fileContent.toString());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadWholeFileAsCharBufferBySmallRegions() {
+        String text = "Za\u017c\u00f3\u0142\u0107\r\ng\u0119\u015bl\u0105 \ud83d\ude00 ja\u017a\u0144";
+        Path file = folder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        for (int regionSize = 4; regionSize <= 8; regionSize++) {
+            assertEquals(text, FileReaders.readWholeFileAsCharBuffer(file, regionSize).toString());
+        }
+        assertEquals(0, FileReaders.readWholeFileAsCharBuffer(folder.newFile().toPath()).length());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    @SneakyThrows
+    public void testReadWholeFileAsCharBufferRejectsTooSmallRegions() {
+        FileReaders.readWholeFileAsCharBuffer(folder.newFile().toPath(), 3);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadChunks() {
+        String text = textOfLength(100);
+        Path file = folder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        try (Stream<CharBuffer> chunks = FileReaders.readChunks(file, StandardCharsets.UTF_8, 16)) {
+            List<CharBuffer> chunkList = chunks.collect(Collectors.toList());
+
+            assertEquals(7, chunkList.size());
+            assertEquals(text, chunkList.stream().map(CharBuffer::toString).collect(Collectors.joining()));
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadLines() {
+        Path file = folder.newFile().toPath();
+        String longLine = textOfLength(50);
+        Files.write(file, ("Hey!\r\n\r\n" + longLine + "\rWhat's up?\nHi!").getBytes(StandardCharsets.UTF_8));
+        List<String> lines = new ArrayList<>();
+
+        try (LineIterator iterator = FileReaders.readLines(file, StandardCharsets.UTF_8, 16)) {
+            iterator.forEachRemaining(line -> lines.add(line.toString()));
+        }
+
+        assertEquals(Arrays.asList("Hey!", "", longLine, "What's up?", "Hi!"), lines);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadLinesWithCarriageReturnAtChunkEnd() {
+        Path file = folder.newFile().toPath();
+        String firstLine = textOfLength(15);
+        // '\r' is the last character of the first 16-character chunk and '\n' the first one of the next chunk
+        Files.write(file, (firstLine + "\r\nWhat's up?\r").getBytes(StandardCharsets.UTF_8));
+        List<String> lines = new ArrayList<>();
+
+        try (LineIterator iterator = FileReaders.readLines(file, StandardCharsets.UTF_8, 16)) {
+            iterator.forEachRemaining(line -> lines.add(line.toString()));
+        }
+
+        assertEquals(Arrays.asList(firstLine, "What's up?"), lines);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadWithCallback() {
+        String text = "Za\u017c\u00f3\u0142\u0107 g\u0119\u015bl\u0105 ja\u017a\u0144 " + textOfLength(40);
+        Path file = folder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_16LE));
+        StringBuilder content = new StringBuilder();
+
+        FileReaders.read(file, StandardCharsets.UTF_16LE, 16, content::append);
+
+        assertEquals(text, content.toString());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadWholeFileAsync() {
+        String fileContent = FileReaders.readWholeFileAsync("lines.txt").get();
+
+        assertEquals("Hey!\n" + "\n" + "What's up?\n" + "\n" + "Hi!", fileContent);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadWholeFileAsyncBySegments() {
+        String text = "Za\u017c\u00f3\u0142\u0107 g\u0119\u015bl\u0105 ja\u017a\u0144 " + textOfLength(100);
+        Path file = folder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+
+        byte[] bytes = AsyncWholeFileRead.read(file, Integer.MAX_VALUE, 7).get();
+
+        assertEquals(text, new String(bytes, StandardCharsets.UTF_8));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadWholeFileAsyncOnNonExistingFile() {
+        try {
+            FileReaders.readWholeFileAsync("blahblah.txt").get();
+            fail();
+        } catch (ExecutionException e) {
+            assertTrue(e.getCause() instanceof NoSuchFileException);
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadAll() {
+        Map<String, String> contents = FileReaders.readAll(Arrays.asList("simple.txt", "empty.txt", "simple.txt")).get();
+
+        assertEquals(Arrays.asList("simple.txt", "empty.txt"), new ArrayList<>(contents.keySet()));
+        assertEquals("Hello!\n" + "It's a test file.", contents.get("simple.txt"));
+        assertEquals("", contents.get("empty.txt"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testReadAllWithResourceInJar() {
+        Map<String, String> contents = FileReaders.readAll(Arrays.asList("simple.txt", "LICENSE-junit.txt")).get();
+
+        assertEquals("Hello!\n" + "It's a test file.", contents.get("simple.txt"));
+        assertTrue(contents.get("LICENSE-junit.txt").startsWith("JUnit\n\nEclipse Public License - v 1.0\n"));
+    }
+
+    private static String textOfLength(int length) {
+        StringBuilder text = new StringBuilder();
+        for (int i = 0; i < length; i++) {
+            text.append((char) ('a' + i % 26));
+        }
+        return text.toString();
+    }
 }
@@ -0,0 +1,122 @@
+package ua.procamp;
+
+/**
+ * {@link CodePointHistogram} counts Unicode code points in pages of 256 primitive counters, so a text that uses a
+ * few scripts needs a few pages instead of a counter per code point. Not thread-safe.
+ */
+final class CodePointHistogram {
+    private static final int PAGE_BITS = 8;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int PAGE_COUNT = (Character.MAX_CODE_POINT >> PAGE_BITS) + 1;
+
+    private final long[][] pages = new long[PAGE_COUNT][];
+
+    /**
+     * Increments a counter of the code point.
+     *
+     * @param codePoint a valid code point
+     */
+    void increment(int codePoint) {
+        add(codePoint, 1);
+    }
+
+    /**
+     * Adds a number of occurrences to a counter of the code point.
+     *
+     * @param codePoint a valid code point
+     * @param count     number of occurrences
+     */
+    void add(int codePoint, long count) {
+        long[] page = pages[codePoint >>> PAGE_BITS];
+        if (page == null) {
+            page = pages[codePoint >>> PAGE_BITS] = new long[PAGE_SIZE];
+        }
+        page[codePoint & PAGE_MASK] += count;
+    }
+
+    /**
+     * Returns a number of occurrences of the code point.
+     *
+     * @param codePoint any code point
+     * @return a number of occurrences, {@code 0} for invalid code points
+     */
+    long count(int codePoint) {
+        if (codePoint < 0 || codePoint > Character.MAX_CODE_POINT) {
+            return 0;
+        }
+        long[] page = pages[codePoint >>> PAGE_BITS];
+        return page == null ? 0 : page[codePoint & PAGE_MASK];
+    }
+
+    /**
+     * Adds all counters of another histogram to this one.
+     *
+     * @param other histogram to add
+     * @return this histogram
+     */
+    CodePointHistogram merge(CodePointHistogram other) {
+        other.forEach(this::add);
+        return this;
+    }
+
+    /**
+     * Returns a histogram where every code point is counted as its lower case.
+     *
+     * @return a new histogram
+     */
+    CodePointHistogram toLowerCase() {
+        CodePointHistogram lowerCase = new CodePointHistogram();
+        forEach((codePoint, count) -> lowerCase.add(Character.toLowerCase(codePoint), count));
+        return lowerCase;
+    }
+
+    /**
+     * Passes every code point with a non-zero count to the consumer in ascending order.
+     *
+     * @param consumer consumer of code points and their counts
+     */
+    void forEach(CountConsumer consumer) {
+        for (int p = 0; p < PAGE_COUNT; p++) {
+            long[] page = pages[p];
+            if (page != null) {
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    if (page[i] != 0) {
+                        consumer.accept((p << PAGE_BITS) | i, page[i]);
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * Returns the most frequent non-whitespace character of the Basic Multilingual Plane. The smallest one wins a tie.
+     *
+     * @return the most frequent character or {@code -1} if there are none
+     */
+    int mostFrequentCharacter() {
+        int mostFrequent = -1;
+        long maxCount = 0;
+        for (int p = 0; p <= Character.MAX_VALUE >>> PAGE_BITS; p++) {
+            long[] page = pages[p];
+            if (page != null) {
+                for (int i = 0; i < PAGE_SIZE; i++) {
+                    int character = (p << PAGE_BITS) | i;
+                    if (page[i] > maxCount && !Character.isWhitespace(character)) {
+                        mostFrequent = character;
+                        maxCount = page[i];
+                    }
+                }
+            }
+        }
+        return mostFrequent;
+    }
+
+    /**
+     * Consumer of a code point and its count.
+     */
+    @FunctionalInterface
+    interface CountConsumer {
+        void accept(int codePoint, long count);
+    }
+}
@@ -1,32 +1,66 @@
 package ua.procamp;
 
-import java.io.BufferedReader;
-import java.io.File;
-import java.io.FileInputStream;
-import java.io.FileNotFoundException;
-import java.io.FileReader;
+import com.github.luben.zstd.ZstdInputStream;
+
 import java.io.IOException;
 import java.io.InputStream;
-import java.net.URI;
 import java.net.URISyntaxException;
-import java.util.ArrayList;
-import java.util.HashMap;
-import java.util.List;
-import java.util.Map;
+import java.net.URL;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.channels.ReadableByteChannel;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
 import java.util.Objects;
-import java.util.Scanner;
-import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.Supplier;
+import java.util.zip.GZIPInputStream;
 
 /**
  * {@link FileStats} provides an API that allow to get character statistic based on text file. All whitespace characters
  * are ignored.
+ * <p>
+ * The file is decoded as UTF-8 in a single streaming pass into a histogram of code points, so every query is answered
+ * from memory without reading the file again. Huge files can be memory-mapped and decoded by regions in parallel,
+ * see {@link #parallelFrom(String, ForkJoinPool)}. Files compressed with gzip or zstd are decompressed on the fly, see
+ * {@link #from(Path)}.
  */
 public class FileStats {
+    private static final int BUFFER_SIZE = 1 << 16;
+    private static final int GZIP_MAGIC = 0x1F8B;
+    private static final int ZSTD_MAGIC = 0x28B52FFD;
+
+    private final String source;
+    private final Supplier<CodePointHistogram> reader;
+    private volatile Histograms histograms;
+
+    private FileStats(String source, Supplier<CodePointHistogram> reader) {
+        this.source = source;
+        this.reader = reader;
+    }
 
-    private URI path;
+    /**
+     * Creates {@link FileStats} over an already counted histogram.
+     *
+     * @param source    description of the source for messages
+     * @param histogram histogram of code points
+     * @return new FileStats object
+     */
+    static FileStats of(String source, CodePointHistogram histogram) {
+        FileStats fileStats = new FileStats(source, () -> histogram);
+        fileStats.histograms();
+        return fileStats;
+    }
 
-    public void setPath(URI path) {
-        this.path = path;
+    /**
+     * Creates {@link FileStats} for a subclass that provides its histograms by overriding {@link #histograms()}.
+     *
+     * @param source description of the source for messages
+     */
+    FileStats(String source) {
+        this(source, null);
     }
 
     /**
@@ -36,126 +70,279 @@ public class FileStats {
      * @return new FileStats object created from text file
      */
     public static FileStats from(String fileName) throws URISyntaxException {
-        URI path;
-        try {
-            path = Objects.requireNonNull(FileStats.class
-                    .getClassLoader().getResource(fileName)).toURI();
-//            File file = new File(path);
-        } catch (NullPointerException ex) {
-            throw new FileStatsException("surprise!");
-        }
-        return new FileStats() {{
-            setPath(path);
-        }};
+        FileStats fileStats = lazyFrom(fileName);
+        fileStats.histograms();
+        return fileStats;
     }
 
     /**
-     * Returns a number of occurrences of the particular character.
+     * Creates a new {@link FileStats} that reads the file on the first query and remembers the result.
      *
-     * @param character a specific character
-     * @return a number that shows how many times this character appeared in a text file
+     * @param fileName input text file name
+     * @return new FileStats object that reads the text file on demand
      */
-    public int getCharCount(char character) {
-        Scanner scannerFile;
+    public static FileStats lazyFrom(String fileName) throws URISyntaxException {
+        return lazyFrom(resolve(fileName));
+    }
 
-        try {
-            System.out.println(path);
-            scannerFile = new Scanner(new File(path));
-        } catch (FileNotFoundException e) {
-            throw new FileStatsException("surprise!");
-        }
+    /**
+     * Creates a new immutable {@link FileStats} using data from a file on disk. A file that starts with gzip or zstd
+     * magic bytes is decompressed while it is read, so rotated logs can be used as they are.
+     *
+     * @param path input text file, plain or compressed
+     * @return new FileStats object created from the file
+     */
+    public static FileStats from(Path path) {
+        FileStats fileStats = lazyFrom(path);
+        fileStats.histograms();
+        return fileStats;
+    }
 
-        int count = 0;
-        while (scannerFile.hasNext()) {
-            String str = scannerFile.next();
-            int index = 0;
-            while (index < str.length()) {
-                if (str.charAt(index) == character) {
-                    count++;
-                }
-                index++;
+    /**
+     * Creates a new immutable {@link FileStats} using a histogram cached for an unchanged file, or reads the file and
+     * caches its histogram. See {@link #from(Path)} for compressed files.
+     *
+     * @param path  input text file, plain or compressed
+     * @param cache cache of histograms
+     * @return new FileStats object created from the file or the cache
+     */
+    public static FileStats from(Path path, FileStatsCache cache) {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(cache);
+        FileStats fileStats = new FileStats(path.toString(), () -> cache.get(path, FileStats::read));
+        fileStats.histograms();
+        return fileStats;
+    }
+
+    /**
+     * Creates a new {@link FileStats} that reads a file on disk on the first query and remembers the result. See
+     * {@link #from(Path)} for compressed files.
+     *
+     * @param path input text file, plain or compressed
+     * @return new FileStats object that reads the file on demand
+     */
+    public static FileStats lazyFrom(Path path) {
+        Objects.requireNonNull(path);
+        return new FileStats(path.toString(), () -> read(path));
+    }
+
+    /**
+     * Creates a new immutable {@link FileStats} by reading the channel to its end. The channel is not closed.
+     *
+     * @param channel channel of UTF-8 text
+     * @return new FileStats object created from the channel
+     */
+    public static FileStats from(ReadableByteChannel channel) {
+        Objects.requireNonNull(channel);
+        String source = channel.toString();
+        FileStats fileStats = new FileStats(source, () -> {
+            try {
+                return count(channel);
+            } catch (IOException e) {
+                throw new FileStatsException("Cannot read " + source, e);
             }
-//            System.out.println(starNumber);
-        }
-        return count;
+        });
+        fileStats.histograms();
+        return fileStats;
     }
 
     /**
-     * Returns a character that appeared most often in the text.
+     * Creates a new immutable {@link FileStats} by reading the stream to its end, e.g. {@code System.in}. The stream is
+     * not closed.
      *
-     * @return the most frequently appeared character
+     * @param inputStream stream of UTF-8 text
+     * @return new FileStats object created from the stream
      */
-    public char getMostPopularCharacter() {
-        HashMap<Character, Integer> wordCountMap = new HashMap<>();
-        Character mostRepeatedWord = null;
-        try (BufferedReader reader = new BufferedReader(new FileReader(path.getPath()))) {
-            // uri
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
-                String line = currentLine.toLowerCase();//.split(" ");
-                //Iterating each symb
-                for (Character symb : line.toCharArray()) {
-                    if (symb == ' ') {      // skips spaces if needed
-                        continue;
-                    }
-                    if (wordCountMap.containsKey(symb)) {
-                        wordCountMap.put(symb, wordCountMap.get(symb) + 1);
-                    } else {
-                        wordCountMap.put(symb, 1);
-                    }
+    public static FileStats from(InputStream inputStream) {
+        Objects.requireNonNull(inputStream);
+        String source = inputStream.toString();
+        FileStats fileStats = new FileStats(source, () -> {
+            try {
+                return count(inputStream);
+            } catch (IOException e) {
+                throw new FileStatsException("Cannot read " + source, e);
+            }
+        });
+        fileStats.histograms();
+        return fileStats;
+    }
+
+    /**
+     * Creates a new immutable {@link FileStats} by memory-mapping the file in regions and decoding them in parallel in
+     * the common {@link ForkJoinPool}.
+     *
+     * @param fileName input text file name
+     * @return new FileStats object created from text file
+     */
+    public static FileStats parallelFrom(String fileName) throws URISyntaxException {
+        return parallelFrom(fileName, ForkJoinPool.commonPool());
+    }
+
+    /**
+     * Creates a new immutable {@link FileStats} by memory-mapping the file in regions and decoding them in parallel in
+     * the provided {@link ForkJoinPool}. It suits files of many gigabytes, which are read as fast as the disk allows.
+     *
+     * @param fileName input text file name
+     * @param pool     a pool that decodes regions of the file
+     * @return new FileStats object created from text file
+     */
+    public static FileStats parallelFrom(String fileName, ForkJoinPool pool) throws URISyntaxException {
+        return parallelFrom(resolve(fileName), pool);
+    }
+
+    /**
+     * Creates a new immutable {@link FileStats} by memory-mapping a file on disk in regions and decoding them in
+     * parallel in the provided {@link ForkJoinPool}. The file must not be compressed.
+     *
+     * @param path input text file
+     * @param pool a pool that decodes regions of the file
+     * @return new FileStats object created from the file
+     */
+    public static FileStats parallelFrom(Path path, ForkJoinPool pool) {
+        return parallelFrom(path, pool, MappedHistogramTask.DEFAULT_REGION_SIZE);
+    }
+
+    static FileStats parallelFrom(Path path, ForkJoinPool pool, int regionSize) {
+        Objects.requireNonNull(path);
+        Objects.requireNonNull(pool);
+        FileStats fileStats = new FileStats(path.toString(), () -> {
+            try {
+                return MappedHistogramTask.count(path, pool, regionSize);
+            } catch (IOException e) {
+                throw new FileStatsException("Cannot read file " + path, e);
+            }
+        });
+        fileStats.histograms();
+        return fileStats;
+    }
+
+    private static Path resolve(String fileName) throws URISyntaxException {
+        URL resource = FileStats.class.getClassLoader().getResource(fileName);
+        if (resource == null) {
+            throw new FileStatsException("File " + fileName + " is not found");
+        }
+        return Paths.get(resource.toURI());
+    }
+
+    Histograms histograms() {
+        Histograms result = histograms;
+        if (result == null) {
+            synchronized (this) {
+                result = histograms;
+                if (result == null) {
+                    histograms = result = new Histograms(reader.get());
                 }
-                currentLine = reader.readLine();
             }
-            mostRepeatedWord = getKeyByBiggestValue(wordCountMap);
-        } catch (IOException e) {
-            e.printStackTrace();
         }
-        return mostRepeatedWord;
+        return result;
     }
 
+    static CodePointHistogram read(Path path) {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            int magic = readMagic(channel);
+            channel.position(0);
+            if (magic == ZSTD_MAGIC) {
+                try (InputStream zstd = new ZstdInputStream(Channels.newInputStream(channel))) {
+                    return count(zstd);
+                }
+            } else if (magic >>> 16 == GZIP_MAGIC) {
+                try (InputStream gzip = new GZIPInputStream(Channels.newInputStream(channel), BUFFER_SIZE)) {
+                    return count(gzip);
+                }
+            }
+            return count(channel);
+        } catch (IOException e) {
+            throw new FileStatsException("Cannot read file " + path, e);
+        }
+    }
 
-    private char getKeyByBiggestValue(Map<Character, Integer> map) {
-        Character maxKey = null;
-        for (Character key : map.keySet()) {
-            if (maxKey == null || map.get(key) > map.get(maxKey)) {
-                maxKey = key;
+    private static int readMagic(FileChannel channel) throws IOException {
+        ByteBuffer magic = ByteBuffer.allocate(Integer.BYTES);
+        while (magic.hasRemaining()) {
+            if (channel.read(magic) == -1) {
+                return -1;
             }
         }
-        return maxKey;
+        return magic.getInt(0);
+    }
+
+    private static CodePointHistogram count(ReadableByteChannel channel) throws IOException {
+        Utf8CodePointCounter counter = new Utf8CodePointCounter(new CodePointHistogram());
+        ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+        while (channel.read(buffer) != -1) {
+            buffer.flip();
+            counter.accept(buffer);
+            buffer.clear();
+        }
+        return counter.finish();
+    }
+
+    private static CodePointHistogram count(InputStream inputStream) throws IOException {
+        Utf8CodePointCounter counter = new Utf8CodePointCounter(new CodePointHistogram());
+        byte[] buffer = new byte[BUFFER_SIZE];
+        for (int read; (read = inputStream.read(buffer)) != -1; ) {
+            counter.accept(buffer, 0, read);
+        }
+        return counter.finish();
+    }
+
+    /**
+     * Returns a number of occurrences of the particular character, or {@link Integer#MAX_VALUE} if the character
+     * appeared more often. Use {@link #getCharCountAsLong(char)} for files with more than 2^31 characters.
+     *
+     * @param character a specific character
+     * @return a number that shows how many times this character appeared in a text file
+     */
+    public int getCharCount(char character) {
+        return (int) Math.min(getCharCountAsLong(character), Integer.MAX_VALUE);
+    }
+
+    /**
+     * Returns a number of occurrences of the particular character.
+     *
+     * @param character a specific character
+     * @return a number that shows how many times this character appeared in a text file
+     */
+    public long getCharCountAsLong(char character) {
+        if (Character.isWhitespace(character)) {
+            return 0;
+        }
+        return histograms().counts.count(character);
     }
 
     /**
-     * Returns {@code true} if this character has appeared in the text, and {@code false} otherwise
+     * Returns a character that appeared most often in the text. Characters are compared in lower case.
+     *
+     * @return the most frequently appeared character
+     */
+    public char getMostPopularCharacter() {
+        int mostPopular = histograms().mostPopularCharacter;
+        if (mostPopular < 0) {
+            throw new FileStatsException("File " + source + " has no characters");
+        }
+        return (char) mostPopular;
+    }
+
+    /**
+     * Returns {@code true} if this character has appeared in the text, and {@code false} otherwise. Characters of the
+     * text are compared in lower case.
      *
      * @param character a specific character to check
      * @return {@code true} if this character has appeared in the text, and {@code false} otherwise
      */
     public boolean containsCharacter(char character) {
-        HashMap<Character, Integer> wordCountMap = new HashMap<>();
-        try (BufferedReader reader = new BufferedReader(new FileReader(path.getPath()))) {
-            // uri
-            String currentLine = reader.readLine();
-            while (currentLine != null) {
-                String line = currentLine.toLowerCase();//.split(" ");
-                //Iterating each symb
-                for (Character symb : line.toCharArray()) {
-                    if (symb == ' ') {      // skips spaces if needed
-                        continue;
-                    }
-                    if (symb == character) {      // skips spaces if needed
-                        return true;
-                    }
-                    if (wordCountMap.containsKey(symb)) {
-                        wordCountMap.put(symb, wordCountMap.get(symb) + 1);
-                    } else {
-                        wordCountMap.put(symb, 1);
-                    }
-                }
-                currentLine = reader.readLine();
-            }
-        } catch (IOException e) {
-            e.printStackTrace();
+        return !Character.isWhitespace(character) && histograms().lowerCaseCounts.count(character) > 0;
+    }
+
+    static final class Histograms {
+        private final CodePointHistogram counts;
+        private final CodePointHistogram lowerCaseCounts;
+        private final int mostPopularCharacter;
+
+        Histograms(CodePointHistogram counts) {
+            this.counts = counts;
+            this.lowerCaseCounts = counts.toLowerCase();
+            this.mostPopularCharacter = lowerCaseCounts.mostFrequentCharacter();
         }
-        return false;
     }
 }
@@ -0,0 +1,252 @@
+package ua.procamp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentSkipListMap;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Predicate;
+import java.util.stream.Stream;
+
+/**
+ * {@link FileStatsBatch} computes character statistics of every regular file in a directory tree. Files are decoded
+ * concurrently by a fixed number of threads, and the directory walk pauses while the configured number of files is in
+ * flight, so memory use does not depend on the size of the tree. Compressed files are handled as by
+ * {@link FileStats#from(Path)}.
+ * <p>
+ * A batch can be cancelled from another thread or from a progress listener. Files that are already being read are
+ * finished and included in the result, no new files are started.
+ */
+public final class FileStatsBatch {
+    private final Path directory;
+    private int threads = Runtime.getRuntime().availableProcessors();
+    private int maxFilesInFlight = 2 * threads;
+    private Predicate<Path> filter = path -> true;
+    private boolean keepFileStats = true;
+    private Progress progress = (file, files, bytes) -> {
+    };
+    private volatile boolean cancelled;
+
+    private FileStatsBatch(Path directory) {
+        this.directory = directory;
+    }
+
+    /**
+     * Creates a batch over all regular files in the directory and its subdirectories.
+     *
+     * @param directory root directory
+     * @return a new batch
+     */
+    public static FileStatsBatch of(Path directory) {
+        return new FileStatsBatch(Objects.requireNonNull(directory));
+    }
+
+    /**
+     * Sets the number of threads that read files. Defaults to the number of processors.
+     *
+     * @param threads number of threads
+     * @return this batch
+     */
+    public FileStatsBatch threads(int threads) {
+        if (threads <= 0) {
+            throw new IllegalArgumentException("Number of threads must be positive: " + threads);
+        }
+        this.threads = threads;
+        return this;
+    }
+
+    /**
+     * Sets the max number of files that are queued or being read at the same time. Defaults to twice the number of
+     * threads.
+     *
+     * @param maxFilesInFlight max number of files in flight
+     * @return this batch
+     */
+    public FileStatsBatch maxFilesInFlight(int maxFilesInFlight) {
+        if (maxFilesInFlight <= 0) {
+            throw new IllegalArgumentException("Max number of files in flight must be positive: " + maxFilesInFlight);
+        }
+        this.maxFilesInFlight = maxFilesInFlight;
+        return this;
+    }
+
+    /**
+     * Sets a filter of files to read, e.g. {@code path -> path.toString().endsWith(".log")}.
+     *
+     * @param filter filter of regular files
+     * @return this batch
+     */
+    public FileStatsBatch filter(Predicate<Path> filter) {
+        this.filter = Objects.requireNonNull(filter);
+        return this;
+    }
+
+    /**
+     * Sets whether {@link Result#getFileStats()} keeps statistics of every file. Only the total statistics are kept
+     * otherwise.
+     *
+     * @param keepFileStats {@code true} to keep statistics of every file
+     * @return this batch
+     */
+    public FileStatsBatch keepFileStats(boolean keepFileStats) {
+        this.keepFileStats = keepFileStats;
+        return this;
+    }
+
+    /**
+     * Sets a listener that is notified after every file from the thread that read it. An exception thrown by the
+     * listener goes to the uncaught exception handler of that thread, the file is still included in the result.
+     *
+     * @param progress progress listener
+     * @return this batch
+     */
+    public FileStatsBatch onProgress(Progress progress) {
+        this.progress = Objects.requireNonNull(progress);
+        return this;
+    }
+
+    /**
+     * Stops starting new files. Can be called before or during {@link #run()}, a cancelled batch stays cancelled.
+     */
+    public void cancel() {
+        cancelled = true;
+    }
+
+    /**
+     * Reads files and waits for all of them to finish, also when the calling thread is interrupted or the directory
+     * walk fails. The calling thread walks the directory tree.
+     *
+     * @return statistics of files and their total
+     */
+    public Result run() {
+        Map<Path, FileStats> fileStats = new ConcurrentSkipListMap<>();
+        Map<Path, FileStatsException> failures = new ConcurrentSkipListMap<>();
+        CodePointHistogram total = new CodePointHistogram();
+        AtomicLong files = new AtomicLong();
+        AtomicLong bytes = new AtomicLong();
+        Semaphore inFlight = new Semaphore(maxFilesInFlight);
+        ExecutorService pool = Executors.newFixedThreadPool(threads);
+        try (Stream<Path> paths = Files.walk(directory)) {
+            Iterator<Path> iterator = paths.filter(Files::isRegularFile).filter(filter).iterator();
+            while (!cancelled && iterator.hasNext()) {
+                Path file = iterator.next();
+                inFlight.acquire();
+                if (cancelled) {
+                    inFlight.release();
+                    break;
+                }
+                pool.execute(() -> {
+                    try {
+                        long size;
+                        CodePointHistogram histogram;
+                        try {
+                            size = Files.size(file);
+                            histogram = FileStats.read(file);
+                        } catch (FileStatsException e) {
+                            failures.put(file, e);
+                            return;
+                        } catch (IOException | RuntimeException e) {
+                            failures.put(file, new FileStatsException("Cannot read file " + file, e));
+                            return;
+                        }
+                        synchronized (total) {
+                            total.merge(histogram);
+                        }
+                        if (keepFileStats) {
+                            fileStats.put(file, FileStats.of(file.toString(), histogram));
+                        }
+                        progress.onFileProcessed(file, files.incrementAndGet(), bytes.addAndGet(size));
+                    } finally {
+                        inFlight.release();
+                    }
+                });
+            }
+        } catch (IOException | UncheckedIOException e) {
+            throw new FileStatsException("Cannot walk directory " + directory, e);
+        } catch (InterruptedException e) {
+            cancelled = true;
+            Thread.currentThread().interrupt();
+        } finally {
+            inFlight.acquireUninterruptibly(maxFilesInFlight);
+            pool.shutdown();
+        }
+        return new Result(fileStats, FileStats.of(directory.toString(), total), failures, cancelled);
+    }
+
+    /**
+     * Listener of batch progress.
+     */
+    @FunctionalInterface
+    public interface Progress {
+        /**
+         * Called after a file is read.
+         *
+         * @param file  the file
+         * @param files number of files read so far
+         * @param bytes number of bytes read so far
+         */
+        void onFileProcessed(Path file, long files, long bytes);
+    }
+
+    /**
+     * Statistics of a batch.
+     */
+    public static final class Result {
+        private final Map<Path, FileStats> fileStats;
+        private final FileStats total;
+        private final Map<Path, FileStatsException> failures;
+        private final boolean cancelled;
+
+        private Result(Map<Path, FileStats> fileStats, FileStats total, Map<Path, FileStatsException> failures,
+                       boolean cancelled) {
+            this.fileStats = Collections.unmodifiableMap(fileStats);
+            this.total = total;
+            this.failures = Collections.unmodifiableMap(failures);
+            this.cancelled = cancelled;
+        }
+
+        /**
+         * Returns statistics of every file sorted by path, empty if the batch does not keep them.
+         *
+         * @return statistics of files
+         */
+        public Map<Path, FileStats> getFileStats() {
+            return fileStats;
+        }
+
+        /**
+         * Returns statistics of all files together.
+         *
+         * @return merged statistics
+         */
+        public FileStats getTotal() {
+            return total;
+        }
+
+        /**
+         * Returns failures of files that could not be read. They are not included in the total statistics.
+         *
+         * @return failures by file
+         */
+        public Map<Path, FileStatsException> getFailures() {
+            return failures;
+        }
+
+        /**
+         * Returns {@code true} if the batch was cancelled before all files were read.
+         *
+         * @return {@code true} if the batch was cancelled
+         */
+        public boolean isCancelled() {
+            return cancelled;
+        }
+    }
+}
@@ -0,0 +1,242 @@
+package ua.procamp;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.nio.file.attribute.FileTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.function.Function;
+import java.util.stream.Stream;
+import java.util.zip.CRC32;
+
+import static java.util.stream.Collectors.toList;
+
+/**
+ * {@link FileStatsCache} keeps code point histograms of files in a directory, so {@link FileStats} of an unchanged file
+ * is loaded without reading the file. See {@link FileStats#from(Path, FileStatsCache)}.
+ * <p>
+ * An entry is keyed by the absolute path of a file and is valid while the file has the same size, modification time
+ * and a hash of its first, middle and last {@value #SAMPLE_SIZE} bytes, which costs three small reads to check. The
+ * modification time of an entry marks its last use, and the least recently used entries are deleted when the total
+ * size of entries exceeds the limit. A file that changes while it is read is not cached. Entries are written to a
+ * temporary file and moved into place, so several processes can share a cache directory.
+ */
+public final class FileStatsCache {
+    private static final int MAGIC = 0x46534331;
+    private static final String ENTRY_SUFFIX = ".hist";
+    static final int SAMPLE_SIZE = 4096;
+
+    private final Path directory;
+    private final long maxSize;
+
+    private FileStatsCache(Path directory, long maxSize) {
+        this.directory = directory;
+        this.maxSize = maxSize;
+    }
+
+    /**
+     * Opens a cache in the directory, creating the directory if it does not exist.
+     *
+     * @param directory cache directory
+     * @param maxSize   max total size of entries in bytes
+     * @return a cache
+     */
+    public static FileStatsCache open(Path directory, long maxSize) {
+        Objects.requireNonNull(directory);
+        if (maxSize <= 0) {
+            throw new IllegalArgumentException("Max size must be positive: " + maxSize);
+        }
+        try {
+            Files.createDirectories(directory);
+        } catch (IOException e) {
+            throw new FileStatsException("Cannot create cache directory " + directory, e);
+        }
+        return new FileStatsCache(directory, maxSize);
+    }
+
+    /**
+     * Returns a cached histogram of the file or reads the file and caches its histogram.
+     *
+     * @param file   file to read
+     * @param reader reads the histogram of the file on a cache miss
+     * @return histogram of the file
+     */
+    CodePointHistogram get(Path file, Function<Path, CodePointHistogram> reader) {
+        Path absolute = file.toAbsolutePath().normalize();
+        Path entry = directory.resolve(UUID.nameUUIDFromBytes(absolute.toString().getBytes(StandardCharsets.UTF_8))
+                + ENTRY_SUFFIX);
+        try {
+            FileIdentity identity = FileIdentity.of(absolute);
+            CodePointHistogram histogram = load(entry, identity);
+            if (histogram == null) {
+                histogram = reader.apply(absolute);
+                if (identity.equals(FileIdentity.of(absolute))) {
+                    store(entry, identity, histogram);
+                    evict();
+                }
+            }
+            return histogram;
+        } catch (IOException e) {
+            throw new FileStatsException("Cannot cache file " + file, e);
+        }
+    }
+
+    private static CodePointHistogram load(Path entry, FileIdentity identity) {
+        try (DataInputStream in = new DataInputStream(new BufferedInputStream(Files.newInputStream(entry)))) {
+            if (in.readInt() != MAGIC || !identity.equals(FileIdentity.read(in))) {
+                return null;
+            }
+            CodePointHistogram histogram = new CodePointHistogram();
+            for (int entries = in.readInt(); entries > 0; entries--) {
+                histogram.add(in.readInt(), in.readLong());
+            }
+            Files.setLastModifiedTime(entry, FileTime.fromMillis(System.currentTimeMillis()));
+            return histogram;
+        } catch (IOException | IndexOutOfBoundsException e) {
+            // a missing, truncated or corrupted entry is a miss, it is replaced with a new one
+            return null;
+        }
+    }
+
+    private void store(Path entry, FileIdentity identity, CodePointHistogram histogram) throws IOException {
+        Path temporary = Files.createTempFile(directory, "entry", ".tmp");
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(temporary)))) {
+                out.writeInt(MAGIC);
+                identity.write(out);
+                int[] entries = new int[1];
+                histogram.forEach((codePoint, count) -> entries[0]++);
+                out.writeInt(entries[0]);
+                histogram.forEach((codePoint, count) -> {
+                    try {
+                        out.writeInt(codePoint);
+                        out.writeLong(count);
+                    } catch (IOException e) {
+                        throw new UncheckedIOException(e);
+                    }
+                });
+            } catch (UncheckedIOException e) {
+                throw e.getCause();
+            }
+            try {
+                Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(temporary, entry, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } finally {
+            Files.deleteIfExists(temporary);
+        }
+    }
+
+    private void evict() throws IOException {
+        List<Path> entries;
+        try (Stream<Path> files = Files.list(directory)) {
+            entries = files.filter(path -> path.getFileName().toString().endsWith(ENTRY_SUFFIX)).collect(toList());
+        }
+        List<BasicFileAttributes> attributes = new ArrayList<>(entries.size());
+        long totalSize = 0;
+        for (Path entry : entries) {
+            BasicFileAttributes entryAttributes = Files.readAttributes(entry, BasicFileAttributes.class);
+            attributes.add(entryAttributes);
+            totalSize += entryAttributes.size();
+        }
+        if (totalSize <= maxSize) {
+            return;
+        }
+        List<Integer> leastRecentlyUsed = new ArrayList<>(entries.size());
+        for (int i = 0; i < entries.size(); i++) {
+            leastRecentlyUsed.add(i);
+        }
+        leastRecentlyUsed.sort(Comparator.comparing(i -> attributes.get(i).lastModifiedTime()));
+        for (int i : leastRecentlyUsed) {
+            if (totalSize <= maxSize) {
+                break;
+            }
+            Files.deleteIfExists(entries.get(i));
+            totalSize -= attributes.get(i).size();
+        }
+    }
+
+    /**
+     * Path, size, modification time and a sampled content hash of a file.
+     */
+    private static final class FileIdentity {
+        private final String path;
+        private final long size;
+        private final long modified;
+        private final long contentHash;
+
+        private FileIdentity(String path, long size, long modified, long contentHash) {
+            this.path = path;
+            this.size = size;
+            this.modified = modified;
+            this.contentHash = contentHash;
+        }
+
+        static FileIdentity of(Path file) throws IOException {
+            BasicFileAttributes attributes = Files.readAttributes(file, BasicFileAttributes.class);
+            long size = attributes.size();
+            CRC32 crc = new CRC32();
+            try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+                ByteBuffer sample = ByteBuffer.allocate(SAMPLE_SIZE);
+                for (long position : new long[]{0, Math.max(0, size / 2 - SAMPLE_SIZE / 2),
+                        Math.max(0, size - SAMPLE_SIZE)}) {
+                    sample.clear();
+                    int read;
+                    do {
+                        read = channel.read(sample, position + sample.position());
+                    } while (read > 0 && sample.hasRemaining());
+                    sample.flip();
+                    crc.update(sample);
+                }
+            }
+            return new FileIdentity(file.toString(), size, attributes.lastModifiedTime().toMillis(), crc.getValue());
+        }
+
+        static FileIdentity read(DataInputStream in) throws IOException {
+            return new FileIdentity(in.readUTF(), in.readLong(), in.readLong(), in.readLong());
+        }
+
+        void write(DataOutputStream out) throws IOException {
+            out.writeUTF(path);
+            out.writeLong(size);
+            out.writeLong(modified);
+            out.writeLong(contentHash);
+        }
+
+        @Override
+        public boolean equals(Object o) {
+            if (this == o) {
+                return true;
+            }
+            if (!(o instanceof FileIdentity)) {
+                return false;
+            }
+            FileIdentity that = (FileIdentity) o;
+            return size == that.size && modified == that.modified && contentHash == that.contentHash
+                    && path.equals(that.path);
+        }
+
+        @Override
+        public int hashCode() {
+            return Objects.hash(path, size, modified, contentHash);
+        }
+    }
+}
@@ -0,0 +1,98 @@
+package ua.procamp;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveTask;
+
+/**
+ * {@link MappedHistogramTask} counts code points of a UTF-8 file by splitting it into regions that are memory-mapped
+ * and decoded in parallel, then merging region histograms.
+ * <p>
+ * A region starts at the first byte after its nominal start that is not a UTF-8 continuation byte and ends where the
+ * next region starts, so a multi-byte sequence is never split between regions. At most 3 continuation bytes are
+ * skipped, a longer run is malformed anyway and is decoded the same way as by a single reader.
+ */
+final class MappedHistogramTask extends RecursiveTask<CodePointHistogram> {
+    private static final long serialVersionUID = 1L;
+    static final int DEFAULT_REGION_SIZE = 64 << 20;
+    private static final int MAX_CONTINUATION_BYTES = 3;
+    private static final int COPY_BUFFER_SIZE = 1 << 16;
+
+    private final FileChannel channel;
+    private final long from;
+    private final long to;
+    private final int regionSize;
+
+    private MappedHistogramTask(FileChannel channel, long from, long to, int regionSize) {
+        this.channel = channel;
+        this.from = from;
+        this.to = to;
+        this.regionSize = regionSize;
+    }
+
+    /**
+     * Counts code points of the file in the pool.
+     *
+     * @param path       file to read
+     * @param pool       pool that decodes regions
+     * @param regionSize max size of a mapped region in bytes
+     * @return histogram of the whole file
+     * @throws IOException if the file cannot be read
+     */
+    static CodePointHistogram count(Path path, ForkJoinPool pool, int regionSize) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            return pool.invoke(new MappedHistogramTask(channel, 0, channel.size(), regionSize));
+        } catch (UncheckedIOException e) {
+            throw e.getCause();
+        }
+    }
+
+    @Override
+    protected CodePointHistogram compute() {
+        if (to - from <= regionSize) {
+            try {
+                return countRegion();
+            } catch (IOException e) {
+                throw new UncheckedIOException(e);
+            }
+        }
+        long regions = (to - from + regionSize - 1) / regionSize;
+        long middle = from + regions / 2 * regionSize;
+        MappedHistogramTask right = new MappedHistogramTask(channel, middle, to, regionSize);
+        right.fork();
+        CodePointHistogram left = new MappedHistogramTask(channel, from, middle, regionSize).compute();
+        return left.merge(right.join());
+    }
+
+    private CodePointHistogram countRegion() throws IOException {
+        long size = channel.size();
+        long mappedTo = Math.min(to + MAX_CONTINUATION_BYTES, size);
+        MappedByteBuffer region = channel.map(FileChannel.MapMode.READ_ONLY, from, mappedTo - from);
+        int start = from == 0 ? 0 : skipContinuationBytes(region, 0);
+        int end = to == size ? region.limit() : skipContinuationBytes(region, (int) (to - from));
+
+        Utf8CodePointCounter counter = new Utf8CodePointCounter(new CodePointHistogram());
+        byte[] bytes = new byte[COPY_BUFFER_SIZE];
+        region.position(start);
+        for (int remaining = end - start; remaining > 0; ) {
+            int length = Math.min(remaining, bytes.length);
+            region.get(bytes, 0, length);
+            counter.accept(bytes, 0, length);
+            remaining -= length;
+        }
+        return counter.finish();
+    }
+
+    private static int skipContinuationBytes(MappedByteBuffer region, int position) {
+        int limit = Math.min(position + MAX_CONTINUATION_BYTES, region.limit());
+        while (position < limit && (region.get(position) & 0xC0) == 0x80) {
+            position++;
+        }
+        return position;
+    }
+}
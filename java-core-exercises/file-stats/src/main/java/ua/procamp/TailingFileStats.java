@@ -0,0 +1,193 @@
+package ua.procamp;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.StandardWatchEventKinds;
+import java.nio.file.WatchEvent;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.nio.file.attribute.BasicFileAttributes;
+import java.util.Objects;
+
+/**
+ * {@link TailingFileStats} follows a growing file, e.g. an append-only log. It remembers the offset of the last
+ * decoded byte and decodes only bytes appended after it, so keeping statistics current costs as much as the new data.
+ * A code point split by the end of appended data is completed by the next update.
+ * <p>
+ * If the file shrinks or is replaced by another file with the same name, as log rotation does, statistics start over
+ * from the beginning of the new file.
+ * <p>
+ * A {@link TailingFileStats} created with {@link #follow(Path)} checks the file for new data on every query. One
+ * created with {@link #watch(Path)} updates in a background thread on {@link WatchService} events, and queries return
+ * the latest statistics without touching the file. It must be closed to stop watching.
+ */
+public final class TailingFileStats extends FileStats implements Closeable {
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final Path path;
+    private final WatchService watchService;
+    private final ByteBuffer buffer = ByteBuffer.allocate(BUFFER_SIZE);
+    private Utf8CodePointCounter counter;
+    private Object fileKey;
+    private long offset;
+    private volatile Histograms histograms;
+    private volatile RuntimeException failure;
+
+    private TailingFileStats(Path path, WatchService watchService) {
+        super(path.toString());
+        if (!Files.isRegularFile(path)) {
+            throw new FileStatsException("File " + path + " is not found");
+        }
+        this.path = path;
+        this.watchService = watchService;
+        reset(null);
+        update();
+    }
+
+    /**
+     * Creates {@link FileStats} that reads the file and then reads appended data on every query.
+     *
+     * @param path a growing text file
+     * @return statistics that follow the file
+     */
+    public static TailingFileStats follow(Path path) {
+        return new TailingFileStats(Objects.requireNonNull(path), null);
+    }
+
+    /**
+     * Creates {@link FileStats} that reads the file and then reads appended data when a {@link WatchService} reports
+     * that the file is modified.
+     *
+     * @param path a growing text file
+     * @return statistics that follow the file until they are closed
+     */
+    public static TailingFileStats watch(Path path) {
+        Path absolute = path.toAbsolutePath();
+        WatchService watchService;
+        try {
+            watchService = FileSystems.getDefault().newWatchService();
+            absolute.getParent().register(watchService, StandardWatchEventKinds.ENTRY_CREATE,
+                    StandardWatchEventKinds.ENTRY_MODIFY);
+        } catch (IOException e) {
+            throw new FileStatsException("Cannot watch file " + path, e);
+        }
+        TailingFileStats fileStats;
+        try {
+            fileStats = new TailingFileStats(absolute, watchService);
+        } catch (RuntimeException e) {
+            try {
+                watchService.close();
+            } catch (IOException closeFailure) {
+                e.addSuppressed(closeFailure);
+            }
+            throw e;
+        }
+        Thread watcher = new Thread(fileStats::watchEvents, "file-stats-watcher-" + absolute.getFileName());
+        watcher.setDaemon(true);
+        watcher.start();
+        return fileStats;
+    }
+
+    /**
+     * Returns the number of bytes decoded so far.
+     *
+     * @return offset of the next byte to decode
+     */
+    public synchronized long getOffset() {
+        return offset;
+    }
+
+    /**
+     * Decodes bytes appended to the file since the last update.
+     *
+     * @return {@code true} if there were new bytes or the file was replaced
+     */
+    public synchronized boolean update() {
+        try {
+            BasicFileAttributes attributes = Files.readAttributes(path, BasicFileAttributes.class);
+            Object key = attributes.fileKey();
+            boolean replaced = attributes.size() < offset || (key != null && fileKey != null && !key.equals(fileKey));
+            if (replaced) {
+                reset(key);
+            }
+            fileKey = key;
+            if (!replaced && attributes.size() == offset) {
+                return false;
+            }
+            try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                buffer.clear();
+                for (int read; (read = channel.read(buffer, offset)) > 0; buffer.clear()) {
+                    buffer.flip();
+                    counter.accept(buffer);
+                    offset += read;
+                }
+            }
+        } catch (NoSuchFileException e) {
+            // a rotated file is not recreated yet, the next update reads the new one from its beginning
+            reset(null);
+        } catch (IOException e) {
+            throw new FileStatsException("Cannot read file " + path, e);
+        }
+        histograms = new Histograms(new CodePointHistogram().merge(counter.flush()));
+        return true;
+    }
+
+    private void reset(Object key) {
+        counter = new Utf8CodePointCounter(new CodePointHistogram());
+        fileKey = key;
+        offset = 0;
+    }
+
+    @Override
+    Histograms histograms() {
+        if (watchService == null) {
+            update();
+        } else if (failure != null) {
+            throw failure;
+        }
+        return histograms;
+    }
+
+    private void watchEvents() {
+        Path fileName = path.getFileName();
+        try {
+            while (true) {
+                WatchKey key = watchService.take();
+                boolean changed = false;
+                for (WatchEvent<?> event : key.pollEvents()) {
+                    changed |= event.kind() == StandardWatchEventKinds.OVERFLOW || fileName.equals(event.context());
+                }
+                if (changed) {
+                    update();
+                }
+                key.reset();
+            }
+        } catch (ClosedWatchServiceException | InterruptedException e) {
+            // closed
+        } catch (RuntimeException e) {
+            failure = e;
+        }
+    }
+
+    /**
+     * Stops watching the file. Statistics remain available as of the last update.
+     */
+    @Override
+    public void close() {
+        if (watchService != null) {
+            try {
+                watchService.close();
+            } catch (IOException e) {
+                throw new FileStatsException("Cannot stop watching file " + path, e);
+            }
+        }
+    }
+}
@@ -0,0 +1,137 @@
+package ua.procamp;
+
+import java.nio.ByteBuffer;
+
+/**
+ * {@link Utf8CodePointCounter} decodes UTF-8 bytes and counts decoded code points in a {@link CodePointHistogram}.
+ * Bytes may come in arbitrary pieces: a code point split between two pieces is completed by the next one. Malformed
+ * sequences are counted as {@code U+FFFD}, like {@link java.nio.charset.CodingErrorAction#REPLACE} does. Not
+ * thread-safe.
+ */
+final class Utf8CodePointCounter {
+    static final int REPLACEMENT_CHARACTER = 0xFFFD;
+    private static final int[] MIN_CODE_POINT = {0, 0, 0x80, 0x800, 0x10000};
+
+    private final CodePointHistogram histogram;
+    private final long[] ascii = new long[0x80];
+    private int codePoint;
+    private int length;
+    private int remaining;
+
+    Utf8CodePointCounter(CodePointHistogram histogram) {
+        this.histogram = histogram;
+    }
+
+    /**
+     * Decodes and counts bytes from the buffer position to its limit, moving the position to the limit.
+     *
+     * @param bytes bytes to decode
+     */
+    void accept(ByteBuffer bytes) {
+        if (bytes.hasArray()) {
+            accept(bytes.array(), bytes.arrayOffset() + bytes.position(), bytes.remaining());
+            bytes.position(bytes.limit());
+            return;
+        }
+        while (bytes.hasRemaining()) {
+            accept(bytes.get());
+        }
+    }
+
+    /**
+     * Decodes and counts bytes of an array.
+     *
+     * @param bytes  bytes to decode
+     * @param offset the first byte
+     * @param count  number of bytes
+     */
+    void accept(byte[] bytes, int offset, int count) {
+        for (int i = offset, end = offset + count; i < end; i++) {
+            accept(bytes[i]);
+        }
+    }
+
+    private void accept(byte b) {
+        if (remaining == 0 && b >= 0) {
+            ascii[b]++;
+            return;
+        }
+        if (remaining > 0) {
+            if ((b & 0xC0) == 0x80) {
+                codePoint = (codePoint << 6) | (b & 0x3F);
+                if (--remaining == 0) {
+                    countSequence();
+                }
+                return;
+            }
+            // the sequence is cut short: count it as malformed and decode the byte from scratch
+            remaining = 0;
+            histogram.increment(REPLACEMENT_CHARACTER);
+            if (b >= 0) {
+                ascii[b]++;
+                return;
+            }
+        }
+        int lead = b & 0xFF;
+        if (lead >= 0xC2 && lead <= 0xDF) {
+            start(lead & 0x1F, 2);
+        } else if (lead >= 0xE0 && lead <= 0xEF) {
+            start(lead & 0x0F, 3);
+        } else if (lead >= 0xF0 && lead <= 0xF4) {
+            start(lead & 0x07, 4);
+        } else {
+            histogram.increment(REPLACEMENT_CHARACTER);
+        }
+    }
+
+    private void start(int bits, int sequenceLength) {
+        codePoint = bits;
+        length = sequenceLength;
+        remaining = sequenceLength - 1;
+    }
+
+    private void countSequence() {
+        boolean valid = codePoint >= MIN_CODE_POINT[length]
+                && codePoint <= Character.MAX_CODE_POINT
+                && (codePoint < Character.MIN_SURROGATE || codePoint > Character.MAX_SURROGATE);
+        histogram.increment(valid ? codePoint : REPLACEMENT_CHARACTER);
+    }
+
+    /**
+     * Returns {@code true} if the last accepted bytes end in the middle of a code point.
+     *
+     * @return {@code true} if a code point is incomplete
+     */
+    boolean hasIncompleteCodePoint() {
+        return remaining > 0;
+    }
+
+    /**
+     * Counts an incomplete trailing sequence as malformed and flushes ASCII counters into the histogram.
+     *
+     * @return the histogram
+     */
+    CodePointHistogram finish() {
+        if (remaining > 0) {
+            remaining = 0;
+            histogram.increment(REPLACEMENT_CHARACTER);
+        }
+        return flush();
+    }
+
+    /**
+     * Flushes ASCII counters into the histogram, keeping an incomplete trailing sequence to be completed by the next
+     * bytes.
+     *
+     * @return the histogram
+     */
+    CodePointHistogram flush() {
+        for (int c = 0; c < ascii.length; c++) {
+            if (ascii[c] != 0) {
+                histogram.add(c, ascii[c]);
+                ascii[c] = 0;
+            }
+        }
+        return histogram;
+    }
+}
@@ -1,6 +1,8 @@
 package ua.procamp;
 
+import org.junit.Rule;
 import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
 import org.junit.runner.RunWith;
 import org.junit.runners.JUnit4;
 
@@ -8,11 +10,31 @@ import static org.junit.Assert.assertEquals;
 import static org.junit.Assert.assertFalse;
 import static org.junit.Assert.assertTrue;
 
+import com.github.luben.zstd.ZstdOutputStream;
 import lombok.SneakyThrows;
 
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.nio.ByteBuffer;
+import java.nio.channels.Channels;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.nio.file.StandardOpenOption;
+import java.nio.file.attribute.FileTime;
+import java.util.Arrays;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.stream.Stream;
+import java.util.zip.GZIPOutputStream;
+
 @RunWith(JUnit4.class)
 
 public class FileStatsTest {
+    @Rule
+    public TemporaryFolder folder = new TemporaryFolder();
 
 
     @Test
@@ -71,4 +93,372 @@ public class FileStatsTest {
         assertTrue(springArticleContainsExistingCharacter);
         assertFalse(springArticleContainsWhitespace);
     }
-}
+
+    @Test
+    @SneakyThrows
+    public void testLazyFileStatsReadsFileOnDemand() {
+        FileStats lazyFileStats = FileStats.lazyFrom("sotl.txt");
+
+        assertEquals(2345, lazyFileStats.getCharCount('a'));
+        assertEquals('e', lazyFileStats.getMostPopularCharacter());
+    }
+
+    @Test(expected = FileStatsException.class)
+    @SneakyThrows
+    public void testCreateLazyFileStatsFromNonExistingFile() {
+        FileStats.lazyFrom("blahblah.txt");
+    }
+
+    @Test
+    @SneakyThrows
+    public void testGetCharCountOfNonAsciiCharacter() {
+        FileStats springCloudArticleFileStats = FileStats.from("scosb.txt");
+
+        assertEquals(1, springCloudArticleFileStats.getCharCount('\u2019'));
+        assertEquals(0, springCloudArticleFileStats.getCharCount(' '));
+    }
+
+    @Test
+    public void testDecodeCodePointsSplitBetweenBuffers() {
+        byte[] bytes = "a\u2019\ud83d\ude00".getBytes(StandardCharsets.UTF_8);
+        Utf8CodePointCounter counter = new Utf8CodePointCounter(new CodePointHistogram());
+        for (byte b : bytes) {
+            counter.accept(ByteBuffer.wrap(new byte[]{b}));
+        }
+        CodePointHistogram histogram = counter.finish();
+
+        assertEquals(1, histogram.count('a'));
+        assertEquals(1, histogram.count(0x2019));
+        assertEquals(1, histogram.count(0x1F600));
+        assertEquals(0, histogram.count(Utf8CodePointCounter.REPLACEMENT_CHARACTER));
+    }
+
+    @Test
+    public void testDecodeMalformedSequencesAsReplacementCharacter() {
+        byte[] bytes = {'a', (byte) 0xC0, (byte) 0xE2, (byte) 0x80, 'b', (byte) 0xED, (byte) 0xA0, (byte) 0x80,
+                (byte) 0xF0};
+        Utf8CodePointCounter counter = new Utf8CodePointCounter(new CodePointHistogram());
+        counter.accept(ByteBuffer.wrap(bytes));
+        CodePointHistogram histogram = counter.finish();
+
+        assertEquals(1, histogram.count('a'));
+        assertEquals(1, histogram.count('b'));
+        assertEquals(4, histogram.count(Utf8CodePointCounter.REPLACEMENT_CHARACTER));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testParallelFileStats() {
+        FileStats lambdaArticleFileStats = FileStats.parallelFrom("sotl.txt");
+
+        assertEquals(2345, lambdaArticleFileStats.getCharCount('a'));
+        assertEquals('e', lambdaArticleFileStats.getMostPopularCharacter());
+        assertFalse(lambdaArticleFileStats.containsCharacter(' '));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testParallelRegionsDoNotSplitCodePoints() {
+        String text = "Za\u017c\u00f3\u0142\u0107 g\u0119\u015bl\u0105 ja\u017a\u0144 \u2019\ud83d\ude00 \u20ac\u00e9";
+        Path file = folder.newFile().toPath();
+        Files.write(file, text.getBytes(StandardCharsets.UTF_8));
+        ForkJoinPool pool = new ForkJoinPool(4);
+        try {
+            for (int regionSize = 1; regionSize <= 8; regionSize++) {
+                FileStats fileStats = FileStats.parallelFrom(file, pool, regionSize);
+                for (char character : text.toCharArray()) {
+                    if (!Character.isSurrogate(character) && character != ' ') {
+                        long expected = text.chars().filter(c -> c == character).count();
+                        assertEquals(expected, fileStats.getCharCount(character));
+                    }
+                }
+                assertEquals(0, fileStats.getCharCount('\ufffd'));
+            }
+        } finally {
+            pool.shutdown();
+        }
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCreateFileStatsFromPath() {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "Hello, World".getBytes(StandardCharsets.UTF_8));
+
+        FileStats fileStats = FileStats.from(file);
+
+        assertEquals(3, fileStats.getCharCount('l'));
+        assertEquals('l', fileStats.getMostPopularCharacter());
+    }
+
+    @Test(expected = FileStatsException.class)
+    public void testCreateFileStatsFromNonExistingPath() {
+        FileStats.from(folder.getRoot().toPath().resolve("blahblah.txt"));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCreateFileStatsFromCompressedFiles() {
+        byte[] text = Files.readAllBytes(Paths.get(getClass().getClassLoader().getResource("sotl.txt").toURI()));
+        Path gzipFile = folder.newFile("sotl.txt.gz").toPath();
+        try (OutputStream gzip = new GZIPOutputStream(Files.newOutputStream(gzipFile))) {
+            gzip.write(text);
+        }
+        Path zstdFile = folder.newFile("sotl.txt.zst").toPath();
+        try (OutputStream zstd = new ZstdOutputStream(Files.newOutputStream(zstdFile))) {
+            zstd.write(text);
+        }
+
+        assertEquals(2345, FileStats.from(gzipFile).getCharCount('a'));
+        assertEquals(2345, FileStats.from(zstdFile).getCharCount('a'));
+        assertEquals('e', FileStats.lazyFrom(zstdFile).getMostPopularCharacter());
+    }
+
+    @Test
+    public void testCreateFileStatsFromStreamAndChannel() {
+        byte[] text = "Za\u017c\u00f3\u0142\u0107 g\u0119\u015bl\u0105".getBytes(StandardCharsets.UTF_8);
+
+        FileStats streamStats = FileStats.from(new ByteArrayInputStream(text));
+        FileStats channelStats = FileStats.from(Channels.newChannel(new ByteArrayInputStream(text)));
+
+        assertEquals(1, streamStats.getCharCount('\u0142'));
+        assertEquals(1, channelStats.getCharCount('\u0142'));
+        assertTrue(channelStats.containsCharacter('z'));
+        assertFalse(streamStats.containsCharacter('Z'));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCachedFileStats() {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "Hello, World".getBytes(StandardCharsets.UTF_8));
+        FileStatsCache cache = FileStatsCache.open(folder.newFolder().toPath(), 1 << 20);
+        AtomicInteger reads = new AtomicInteger();
+
+        cache.get(file, path -> countingRead(path, reads));
+        CodePointHistogram cached = cache.get(file, path -> countingRead(path, reads));
+
+        assertEquals(1, reads.get());
+        assertEquals(3, cached.count('l'));
+        assertEquals(3, FileStats.from(file, cache).getCharCount('l'));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCachedFileStatsOfChangedFile() {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "Hello, World".getBytes(StandardCharsets.UTF_8));
+        FileStatsCache cache = FileStatsCache.open(folder.newFolder().toPath(), 1 << 20);
+        FileStats.from(file, cache);
+
+        Files.write(file, "Hello, Wor1d".getBytes(StandardCharsets.UTF_8));
+        Files.setLastModifiedTime(file, FileTime.fromMillis(0));
+
+        assertEquals(2, FileStats.from(file, cache).getCharCount('l'));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCacheSkipsFileChangedWhileRead() {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "Hello, World".getBytes(StandardCharsets.UTF_8));
+        Path cacheDirectory = folder.newFolder().toPath();
+        FileStatsCache cache = FileStatsCache.open(cacheDirectory, 1 << 20);
+        AtomicInteger reads = new AtomicInteger();
+
+        cache.get(file, path -> {
+            CodePointHistogram histogram = countingRead(path, reads);
+            try {
+                Files.write(path, "Hello, World!".getBytes(StandardCharsets.UTF_8));
+            } catch (IOException e) {
+                throw new AssertionError(e);
+            }
+            return histogram;
+        });
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            assertEquals(0, entries.count());
+        }
+        CodePointHistogram reread = cache.get(file, path -> countingRead(path, reads));
+
+        assertEquals(2, reads.get());
+        assertEquals(1, reread.count('!'));
+        onlyEntry(cacheDirectory);
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCacheEvictsLeastRecentlyUsedEntries() {
+        Path cacheDirectory = folder.newFolder().toPath();
+        Path first = folder.newFile("a.txt").toPath();
+        Path second = folder.newFile("b.txt").toPath();
+        Path third = folder.newFile("c.txt").toPath();
+        for (Path file : Arrays.asList(first, second, third)) {
+            Files.write(file, "x".getBytes(StandardCharsets.UTF_8));
+        }
+        FileStats.from(first, FileStatsCache.open(cacheDirectory, Long.MAX_VALUE));
+        Path firstEntry = onlyEntry(cacheDirectory);
+        long entrySize = Files.size(firstEntry);
+        FileStatsCache cache = FileStatsCache.open(cacheDirectory, 2 * entrySize);
+
+        Files.setLastModifiedTime(firstEntry, FileTime.fromMillis(1000));
+        FileStats.from(second, cache);
+        Files.setLastModifiedTime(entryOtherThan(cacheDirectory, firstEntry), FileTime.fromMillis(2000));
+        AtomicInteger reads = new AtomicInteger();
+        cache.get(first, path -> countingRead(path, reads));
+        FileStats.from(third, cache);
+
+        assertEquals(0, reads.get());
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            assertEquals(2, entries.count());
+        }
+        cache.get(first, path -> countingRead(path, reads));
+        assertEquals(0, reads.get());
+        cache.get(second, path -> countingRead(path, reads));
+        assertEquals(1, reads.get());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testTailingFileStatsReadsAppendedData() {
+        Path file = folder.newFile().toPath();
+        byte[] letter = "\u0142".getBytes(StandardCharsets.UTF_8);
+        Files.write(file, "ab".getBytes(StandardCharsets.UTF_8));
+        TailingFileStats fileStats = TailingFileStats.follow(file);
+        assertEquals(1, fileStats.getCharCount('a'));
+
+        Files.write(file, new byte[]{'a', letter[0]}, StandardOpenOption.APPEND);
+        assertEquals(2, fileStats.getCharCount('a'));
+        assertEquals(0, fileStats.getCharCount('\u0142'));
+        assertEquals(0, fileStats.getCharCount('\ufffd'));
+
+        Files.write(file, new byte[]{letter[1]}, StandardOpenOption.APPEND);
+        assertEquals(1, fileStats.getCharCount('\u0142'));
+        assertEquals(5, fileStats.getOffset());
+        assertFalse(fileStats.update());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testTailingFileStatsStartOverAfterTruncation() {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "aaaa".getBytes(StandardCharsets.UTF_8));
+        TailingFileStats fileStats = TailingFileStats.follow(file);
+        assertEquals('a', fileStats.getMostPopularCharacter());
+
+        Files.write(file, "bb".getBytes(StandardCharsets.UTF_8));
+
+        assertEquals(0, fileStats.getCharCount('a'));
+        assertEquals('b', fileStats.getMostPopularCharacter());
+    }
+
+    @Test(timeout = 30_000)
+    @SneakyThrows
+    public void testWatchingFileStats() {
+        Path file = folder.newFile().toPath();
+        Files.write(file, "a".getBytes(StandardCharsets.UTF_8));
+        try (TailingFileStats fileStats = TailingFileStats.watch(file)) {
+            Files.write(file, "bbb".getBytes(StandardCharsets.UTF_8), StandardOpenOption.APPEND);
+            while (fileStats.getCharCount('b') < 3) {
+                Thread.sleep(10);
+            }
+            assertEquals('b', fileStats.getMostPopularCharacter());
+        }
+    }
+
+    @Test
+    public void testCharCountAboveIntRange() {
+        CodePointHistogram histogram = new CodePointHistogram();
+        histogram.add('a', 3_000_000_000L);
+        histogram.add('b', 7);
+
+        FileStats fileStats = FileStats.of("huge.txt", histogram);
+
+        assertEquals(Integer.MAX_VALUE, fileStats.getCharCount('a'));
+        assertEquals(3_000_000_000L, fileStats.getCharCountAsLong('a'));
+        assertEquals(7, fileStats.getCharCount('b'));
+        assertEquals('a', fileStats.getMostPopularCharacter());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testBatchFileStats() {
+        Path directory = folder.newFolder().toPath();
+        Files.createDirectories(directory.resolve("nested"));
+        Files.write(directory.resolve("first.txt"), "aab".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("nested/second.txt"), "bbc".getBytes(StandardCharsets.UTF_8));
+        Files.write(directory.resolve("nested/skipped.bin"), "zzzz".getBytes(StandardCharsets.UTF_8));
+        AtomicInteger progress = new AtomicInteger();
+
+        FileStatsBatch.Result result = FileStatsBatch.of(directory)
+                .threads(2)
+                .maxFilesInFlight(1)
+                .filter(path -> path.toString().endsWith(".txt"))
+                .onProgress((file, files, bytes) -> progress.incrementAndGet())
+                .run();
+
+        assertEquals(2, progress.get());
+        assertEquals(2, result.getFileStats().size());
+        assertEquals(2, result.getFileStats().get(directory.resolve("first.txt")).getCharCount('a'));
+        assertEquals(2, result.getFileStats().get(directory.resolve("nested/second.txt")).getCharCount('b'));
+        assertEquals(3, result.getTotal().getCharCount('b'));
+        assertEquals(0, result.getTotal().getCharCount('z'));
+        assertTrue(result.getFailures().isEmpty());
+        assertFalse(result.isCancelled());
+    }
+
+    @Test
+    @SneakyThrows
+    public void testCancelBatchFileStats() {
+        Path directory = folder.newFolder().toPath();
+        for (int i = 0; i < 10; i++) {
+            Files.write(directory.resolve(i + ".txt"), "a".getBytes(StandardCharsets.UTF_8));
+        }
+        FileStatsBatch batch = FileStatsBatch.of(directory).threads(1).maxFilesInFlight(1);
+
+        FileStatsBatch.Result result = batch.onProgress((file, files, bytes) -> batch.cancel()).run();
+
+        assertTrue(result.isCancelled());
+        assertEquals(1, result.getTotal().getCharCount('a'));
+    }
+
+    @Test
+    @SneakyThrows
+    public void testBatchFileStatsWithThrowingListener() {
+        Path directory = folder.newFolder().toPath();
+        for (int i = 0; i < 4; i++) {
+            Files.write(directory.resolve(i + ".txt"), "a".getBytes(StandardCharsets.UTF_8));
+        }
+
+        FileStatsBatch.Result result = FileStatsBatch.of(directory)
+                .threads(2)
+                .maxFilesInFlight(2)
+                .onProgress((file, files, bytes) -> {
+                    throw new IllegalStateException("Listener failed on " + file);
+                })
+                .run();
+
+        assertEquals(4, result.getFileStats().size());
+        assertEquals(4, result.getTotal().getCharCount('a'));
+        assertTrue(result.getFailures().isEmpty());
+        assertFalse(result.isCancelled());
+    }
+
+    private static Path onlyEntry(Path cacheDirectory) throws IOException {
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            return entries.reduce((a, b) -> {
+                throw new AssertionError("More than one entry");
+            }).orElseThrow(AssertionError::new);
+        }
+    }
+
+    private static Path entryOtherThan(Path cacheDirectory, Path entry) throws IOException {
+        try (Stream<Path> entries = Files.list(cacheDirectory)) {
+            return entries.filter(path -> !path.equals(entry)).findFirst().orElseThrow(AssertionError::new);
+        }
+    }
+
+    private static CodePointHistogram countingRead(Path path, AtomicInteger reads) {
+        reads.incrementAndGet();
+        return FileStats.read(path);
+    }
+}
\ No newline at end of file
@@ -0,0 +1,307 @@
+package ua.procamp;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.function.Consumer;
+
+/**
+ * {@link ArrayList} is a list implementation that keeps elements in an array. When the array is full it is replaced
+ * with one half as large again, so adding to the end takes amortized constant time, and {@link #get(int)} and
+ * {@link #set(int, Object)} take constant time. Adding and removing elements in the middle shift the elements after
+ * them.
+ *
+ * @param <T> generic type parameter
+ */
+public class ArrayList<T> implements List<T> {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private Object[] elements;
+    private int size = 0;
+    private int modCount = 0;
+
+    public ArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list that holds the number of elements without growing.
+     *
+     * @param initialCapacity initial length of the array
+     */
+    public ArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        }
+        elements = new Object[initialCapacity];
+    }
+
+    /**
+     * This method creates a list of provided elements
+     *
+     * @param elements elements to add
+     * @param <T>      generic type
+     * @return a new list of elements the were passed as method parameters
+     */
+    @SafeVarargs
+    public static <T> List<T> of(T... elements) {
+        ArrayList<T> arrayList = new ArrayList<>(elements.length);
+        for (T element : elements) {
+            arrayList.add(element);
+        }
+        return arrayList;
+    }
+
+    /**
+     * Adds an element to the end of the list
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(T element) {
+        ensureCapacity(size + 1);
+        elements[size++] = element;
+        modCount++;
+    }
+
+    /**
+     * Adds a new element to the specific position in the list. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an index of new element
+     * @param element element to add
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index not available.");
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Changes the value of an list element at specific position. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an position of element to change
+     * @param element a new element value
+     */
+    @Override
+    public void set(int index, T element) {
+        checkIndex(index);
+        elements[index] = element;
+    }
+
+    /**
+     * Retrieves an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return an element value
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        return (T) elements[index];
+    }
+
+    /**
+     * Removes an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     */
+    @Override
+    public void remove(int index) {
+        checkIndex(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        elements[--size] = null;
+        modCount++;
+    }
+
+    /**
+     * Checks if a specific exists in he list
+     *
+     * @return {@code true} if element exist, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        for (int i = 0; i < size; i++) {
+            if (Objects.equals(elements[i], element)) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the list
+     *
+     * @return number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all list elements. The array keeps its length.
+     */
+    @Override
+    public void clear() {
+        Arrays.fill(elements, 0, size, null);
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements in index order. It throws {@link ConcurrentModificationException} if the
+     * list is structurally modified after the iterator is created.
+     *
+     * @return an iterator over list elements
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final int expectedModCount = modCount;
+            private int next = 0;
+
+            @Override
+            public boolean hasNext() {
+                return next < size;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next >= size) {
+                    throw new NoSuchElementException();
+                }
+                return (T) elements[next++];
+            }
+        };
+    }
+
+    /**
+     * Returns a sized, ordered and fail-fast spliterator over the elements. It binds to the list size on first use and
+     * splits the index range in halves, so parallel streams divide the array without copying it.
+     *
+     * @return a spliterator over list elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return new ArraySpliterator(0, -1, 0);
+    }
+
+    private void ensureCapacity(int capacity) {
+        if (capacity > elements.length) {
+            if (capacity > MAX_ARRAY_SIZE) {
+                throw new OutOfMemoryError("List cannot hold " + capacity + " elements");
+            }
+            int grown = elements.length + (elements.length >> 1);
+            int length = grown < 0 || grown > MAX_ARRAY_SIZE ? MAX_ARRAY_SIZE : Math.max(grown, capacity);
+            elements = Arrays.copyOf(elements, Math.max(length, DEFAULT_CAPACITY));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index not available.");
+        }
+    }
+
+    /**
+     * Spliterator over a range of indexes. The fence is -1 until the spliterator is used, then it is the list size.
+     */
+    private final class ArraySpliterator implements Spliterator<T> {
+        private int index;
+        private int fence;
+        private int expectedModCount;
+
+        ArraySpliterator(int index, int fence, int expectedModCount) {
+            this.index = index;
+            this.fence = fence;
+            this.expectedModCount = expectedModCount;
+        }
+
+        private int fence() {
+            if (fence < 0) {
+                expectedModCount = modCount;
+                fence = size;
+            }
+            return fence;
+        }
+
+        @Override
+        public Spliterator<T> trySplit() {
+            int from = index;
+            int middle = (from + fence()) >>> 1;
+            if (from >= middle) {
+                return null;
+            }
+            index = middle;
+            return new ArraySpliterator(from, middle, expectedModCount);
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public boolean tryAdvance(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            if (index >= fence()) {
+                return false;
+            }
+            action.accept((T) elements[index++]);
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+            return true;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public void forEachRemaining(Consumer<? super T> action) {
+            Objects.requireNonNull(action);
+            int to = fence();
+            Object[] array = elements;
+            for (int i = index; i < to; i++) {
+                action.accept((T) array[i]);
+            }
+            index = to;
+            if (modCount != expectedModCount) {
+                throw new ConcurrentModificationException();
+            }
+        }
+
+        @Override
+        public long estimateSize() {
+            return fence() - index;
+        }
+
+        @Override
+        public int characteristics() {
+            return Spliterator.ORDERED | Spliterator.SIZED | Spliterator.SUBSIZED;
+        }
+    }
+}
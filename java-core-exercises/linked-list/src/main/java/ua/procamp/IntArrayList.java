@@ -0,0 +1,191 @@
+package ua.procamp;
+
+import java.util.Arrays;
+import java.util.stream.IntStream;
+
+/**
+ * {@link IntArrayList} is a {@link IntList} implementation that keeps elements in a {@code int[]} array, so an element
+ * takes 4 bytes instead of a boxed {@link Integer} and a list node. When the array is full it is replaced with one half
+ * as large again, so adding to the end takes amortized constant time.
+ */
+public class IntArrayList implements IntList {
+    private static final int DEFAULT_CAPACITY = 10;
+    private static final int MAX_ARRAY_SIZE = Integer.MAX_VALUE - 8;
+
+    private int[] elements;
+    private int size = 0;
+
+    public IntArrayList() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    /**
+     * Creates an empty list that holds the number of elements without growing.
+     *
+     * @param initialCapacity initial length of the array
+     */
+    public IntArrayList(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException("Capacity must not be negative: " + initialCapacity);
+        }
+        elements = new int[initialCapacity];
+    }
+
+    /**
+     * This method creates a list of provided elements
+     *
+     * @param elements elements to add
+     * @return a new list of elements the were passed as method parameters
+     */
+    public static IntList of(int... elements) {
+        IntArrayList list = new IntArrayList(elements.length);
+        list.addAll(elements);
+        return list;
+    }
+
+    /**
+     * Adds an element to the end of the list
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(int element) {
+        ensureCapacity(size + 1);
+        elements[size++] = element;
+    }
+
+    /**
+     * Adds a new element to the specific position in the list. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an index of new element
+     * @param element element to add
+     */
+    @Override
+    public void add(int index, int element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index not available.");
+        }
+        ensureCapacity(size + 1);
+        System.arraycopy(elements, index, elements, index + 1, size - index);
+        elements[index] = element;
+        size++;
+    }
+
+    @Override
+    public void addAll(int[] elements) {
+        ensureCapacity(size + elements.length);
+        System.arraycopy(elements, 0, this.elements, size, elements.length);
+        size += elements.length;
+    }
+
+    /**
+     * Changes the value of an list element at specific position. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an position of element to change
+     * @param element a new element value
+     */
+    @Override
+    public void set(int index, int element) {
+        checkIndex(index);
+        elements[index] = element;
+    }
+
+    /**
+     * Retrieves an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return an element value
+     */
+    @Override
+    public int get(int index) {
+        checkIndex(index);
+        return elements[index];
+    }
+
+    /**
+     * Removes an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     */
+    @Override
+    public void remove(int index) {
+        checkIndex(index);
+        System.arraycopy(elements, index + 1, elements, index, size - index - 1);
+        size--;
+    }
+
+    /**
+     * Checks if a specific exists in he list
+     *
+     * @return {@code true} if element exist, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(int element) {
+        for (int i = 0; i < size; i++) {
+            if (elements[i] == element) {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the list
+     *
+     * @return number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all list elements. The array keeps its length.
+     */
+    @Override
+    public void clear() {
+        size = 0;
+    }
+
+    @Override
+    public int[] toArray() {
+        return Arrays.copyOf(elements, size);
+    }
+
+    @Override
+    public IntStream stream() {
+        return Arrays.stream(elements, 0, size);
+    }
+
+    private void ensureCapacity(int capacity) {
+        // size plus the number of added elements is negative when it overflows
+        if (capacity < 0 || capacity > MAX_ARRAY_SIZE) {
+            throw new OutOfMemoryError("List cannot hold " + Integer.toUnsignedString(capacity) + " elements");
+        }
+        if (capacity > elements.length) {
+            int grown = elements.length + (elements.length >> 1);
+            int length = grown < 0 || grown > MAX_ARRAY_SIZE ? MAX_ARRAY_SIZE : Math.max(grown, capacity);
+            elements = Arrays.copyOf(elements, Math.max(length, DEFAULT_CAPACITY));
+        }
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index not available.");
+        }
+    }
+}
@@ -0,0 +1,48 @@
+package ua.procamp;
+
+import java.util.stream.IntStream;
+
+/**
+ * {@link IntList} is a counterpart of {@link List} that holds {@code int} values without boxing them.
+ */
+public interface IntList {
+    void add(int element);
+
+    void add(int index, int element);
+
+    /**
+     * Adds all elements of the array to the end of the list.
+     *
+     * @param elements elements to add
+     */
+    void addAll(int[] elements);
+
+    void set(int index, int element);
+
+    int get(int index);
+
+    void remove(int index);
+
+    boolean contains(int element);
+
+    boolean isEmpty();
+
+    int size();
+
+    void clear();
+
+    /**
+     * Returns a new array with elements of the list in index order.
+     *
+     * @return array of list elements
+     */
+    int[] toArray();
+
+    /**
+     * Returns a sequential stream over elements of the list. The list must not be modified while the stream is
+     * consumed.
+     *
+     * @return stream of list elements
+     */
+    IntStream stream();
+}
@@ -1,18 +1,26 @@
 package ua.procamp;
 
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
 import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
 
 /**
  * {@link LinkedList} is a list implementation that is based on singly linked generic nodes. A node is implemented as
- * inner static class {@link Node<T>}. In order to keep track on nodes, {@link LinkedList} keeps a reference to a
- * head node.
+ * inner static class {@link Node<T>}. In order to keep track on nodes, {@link LinkedList} keeps references to the head
+ * and the tail nodes, so adding to either end takes constant time. Positional operations walk the list once, and
+ * whole-list scans should use {@link #iterator()}, which is fail-fast like the iterators of {@link java.util.List}.
  *
  * @param <T> generic type parameter
  */
 public class LinkedList<T> implements List<T> {
 
     private Node<T> first = null;
+    private Node<T> last = null;
     private int size = 0;
+    private int modCount = 0;
 
     /**
      * This method creates a list of provided elements
@@ -37,14 +45,15 @@ public class LinkedList<T> implements List<T> {
      */
     @Override
     public void add(T element) {
+        Node<T> newNode = new Node<>(element);
         if (first == null) {
-            first = new Node<>(element);
+            first = newNode;
         } else {
-            Node<T> newNode = new Node<>(element);
-            Node<T> lastNode = getLastNode(first);
-            lastNode.setNextNode(newNode);
+            last.setNextNode(newNode);
         }
+        last = newNode;
         size++;
+        modCount++;
     }
 
     /**
@@ -54,13 +63,13 @@ public class LinkedList<T> implements List<T> {
      */
     public void addAtFirst(T element) {
         Node<T> newNode = new Node<>(element);
-        if (this.first != null) {
-            newNode.setNextNode(this.first);
-            this.first = newNode;
-        } else {
-            this.first = newNode;
+        newNode.setNextNode(first);
+        first = newNode;
+        if (last == null) {
+            last = newNode;
         }
         size++;
+        modCount++;
     }
 
     /**
@@ -72,21 +81,20 @@ public class LinkedList<T> implements List<T> {
      */
     @Override
     public void add(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index not available.");
+        }
         if (index == 0) {
             addAtFirst(element);
-            return;
-        }
-        if (index == size) {
+        } else if (index == size) {
             add(element);
-        } else if (index < size) {
-            Node<T> newNode = new Node<>(element);
+        } else {
             Node<T> leftNode = getNode(index - 1);
-            Node<T> rightNode = getNode(index);
-            newNode.setNextNode(rightNode);
+            Node<T> newNode = new Node<>(element);
+            newNode.setNextNode(leftNode.getNextNode());
             leftNode.setNextNode(newNode);
             size++;
-        } else {
-            throw new IndexOutOfBoundsException("Index not available.");
+            modCount++;
         }
     }
 
@@ -99,13 +107,7 @@ public class LinkedList<T> implements List<T> {
      */
     @Override
     public void set(int index, T element) {
-        if (index < 0 || index > this.size - 1) {
-            throw new IndexOutOfBoundsException("Index not available.");
-        } else {
-            Node<T> node = getNode(index);
-            assert node != null;
-            node.setData(element);
-        }
+        getNode(index).setData(element);
     }
 
     /**
@@ -117,7 +119,7 @@ public class LinkedList<T> implements List<T> {
      */
     @Override
     public T get(int index) {
-        return Objects.requireNonNull(getNode(index)).getData();
+        return getNode(index).getData();
     }
 
     /**
@@ -128,31 +130,24 @@ public class LinkedList<T> implements List<T> {
      */
     @Override
     public void remove(int index) {
-        if (this.first == null) {
-            throw new IndexOutOfBoundsException("Index not available.");
-        }
-        if (index < 0 || index > this.size - 1) {
+        if (index < 0 || index > size - 1) {
             throw new IndexOutOfBoundsException("Index not available.");
         }
         if (index == 0) {
-            if (this.first.getNextNode() != null) {
-                this.first = getNode(index + 1);
-            } else {
-                this.first = null;
+            first = first.getNextNode();
+            if (first == null) {
+                last = null;
+            }
+        } else {
+            Node<T> leftNode = getNode(index - 1);
+            Node<T> removedNode = leftNode.getNextNode();
+            leftNode.setNextNode(removedNode.getNextNode());
+            if (removedNode == last) {
+                last = leftNode;
             }
-            size--;
-            return;
-        }
-        if (index == this.size - 1) {
-            getNode(index - 1).setNextNode(null);
-            size--;
-            return;
         }
-
-        Node<T> leftNode = getNode(index - 1);
-        Node<T> rightNode = getNode(index + 1);
-        leftNode.setNextNode(rightNode);
         size--;
+        modCount++;
     }
 
     /**
@@ -162,14 +157,12 @@ public class LinkedList<T> implements List<T> {
      */
     @Override
     public boolean contains(T element) {
-        boolean contains = false;
-        for (int i = size - 1; i >= 0; i--) {
-            if (Objects.requireNonNull(getNode(i)).getData().equals(element)) {
-                contains = true;
-                break;
+        for (Node<T> node = first; node != null; node = node.getNextNode()) {
+            if (Objects.equals(node.getData(), element)) {
+                return true;
             }
         }
-        return contains;
+        return false;
     }
 
     /**
@@ -198,50 +191,65 @@ public class LinkedList<T> implements List<T> {
     @Override
     public void clear() {
         first = null;
+        last = null;
         size = 0;
-//        for(int i = size-1; i >= 0; i--){
-//            remove(i);
-//        }
+        modCount++;
     }
 
-    private Node<T> getNode(int index) {
-        if (index < 0 || index > size - 1) {
-            throw new IndexOutOfBoundsException("Index not available.");
-        }
-        if (index == 0) {
-            return first;
-        }
-        if (index == this.size - 1) {
-            return getLastNode(first);
-        }
-        int pointer = 0;
-        Node<T> pointerNode = first;
-        while (pointer <= index) {
-            if (pointer == index) {
-                return pointerNode;
-            } else {
-                pointerNode = next(pointerNode);
-                pointer++;
+    /**
+     * Returns an iterator over the elements from the head to the tail. It throws
+     * {@link ConcurrentModificationException} if the list is structurally modified after the iterator is created.
+     *
+     * @return an iterator over list elements
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final int expectedModCount = modCount;
+            private Node<T> next = first;
+
+            @Override
+            public boolean hasNext() {
+                return next != null;
             }
-        }
-        return null;
+
+            @Override
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (next == null) {
+                    throw new NoSuchElementException();
+                }
+                T data = next.getData();
+                next = next.getNextNode();
+                return data;
+            }
+        };
     }
 
-    private Node<T> getLastNode(Node<T> node) {
-        Node<T> lastNode = node;
-        if (lastNode.getNextNode() != null) {
-            return getLastNode(lastNode.getNextNode());
-        } else {
-            return lastNode;
-        }
+    /**
+     * Returns a sized, ordered and fail-fast spliterator over the elements.
+     *
+     * @return a spliterator over list elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
     }
 
-    private Node<T> next(Node<T> node) {
-        if (node.getNextNode() != null) {
-            return node.getNextNode();
-        } else {
-            return null;
+    private Node<T> getNode(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index not available.");
+        }
+        if (index == size - 1) {
+            return last;
+        }
+        Node<T> node = first;
+        for (int i = 0; i < index; i++) {
+            node = node.getNextNode();
         }
+        return node;
     }
 
 
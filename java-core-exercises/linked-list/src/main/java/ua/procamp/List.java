@@ -1,7 +1,7 @@
 package ua.procamp;
 
 
-public interface List<T> {
+public interface List<T> extends Iterable<T> {
     void add(T element);
 
     void add(int index, T element);
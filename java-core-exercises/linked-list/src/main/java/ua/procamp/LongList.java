@@ -0,0 +1,48 @@
+package ua.procamp;
+
+import java.util.stream.LongStream;
+
+/**
+ * {@link LongList} is a counterpart of {@link List} that holds {@code long} values without boxing them.
+ */
+public interface LongList {
+    void add(long element);
+
+    void add(int index, long element);
+
+    /**
+     * Adds all elements of the array to the end of the list.
+     *
+     * @param elements elements to add
+     */
+    void addAll(long[] elements);
+
+    void set(int index, long element);
+
+    long get(int index);
+
+    void remove(int index);
+
+    boolean contains(long element);
+
+    boolean isEmpty();
+
+    int size();
+
+    void clear();
+
+    /**
+     * Returns a new array with elements of the list in index order.
+     *
+     * @return array of list elements
+     */
+    long[] toArray();
+
+    /**
+     * Returns a sequential stream over elements of the list. The list must not be modified while the stream is
+     * consumed.
+     *
+     * @return stream of list elements
+     */
+    LongStream stream();
+}
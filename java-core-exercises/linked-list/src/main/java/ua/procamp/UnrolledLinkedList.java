@@ -0,0 +1,294 @@
+package ua.procamp;
+
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Iterator;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.Spliterator;
+import java.util.Spliterators;
+
+/**
+ * {@link UnrolledLinkedList} is a list implementation that is based on singly linked chunks. A chunk is implemented as
+ * inner static class {@link Chunk<T>} and holds up to {@value #CHUNK_CAPACITY} elements in an array. With compressed
+ * references the array takes 64 bytes, the size of a cache line, including its 16-byte header; the count and the next
+ * chunk are kept in the chunk object itself. Walking the list follows a pointer per chunk instead of per element, and
+ * adding or removing an element in the middle shifts at most one chunk.
+ * <p>
+ * A full chunk is split in halves before an element is added to it, and a chunk that becomes less than half full
+ * takes elements from the next one, so every chunk but the last stays at least half full.
+ *
+ * @param <T> generic type parameter
+ */
+public class UnrolledLinkedList<T> implements List<T> {
+    static final int CHUNK_CAPACITY = 12;
+    private static final int HALF_CAPACITY = CHUNK_CAPACITY / 2;
+
+    private Chunk<T> first = new Chunk<>();
+    private Chunk<T> last = first;
+    private int size = 0;
+    private int modCount = 0;
+
+    /**
+     * This method creates a list of provided elements
+     *
+     * @param elements elements to add
+     * @param <T>      generic type
+     * @return a new list of elements the were passed as method parameters
+     */
+    @SafeVarargs
+    public static <T> List<T> of(T... elements) {
+        UnrolledLinkedList<T> unrolledLinkedList = new UnrolledLinkedList<>();
+        for (T element : elements) {
+            unrolledLinkedList.add(element);
+        }
+        return unrolledLinkedList;
+    }
+
+    /**
+     * Adds an element to the end of the list
+     *
+     * @param element element to add
+     */
+    @Override
+    public void add(T element) {
+        if (last.count == CHUNK_CAPACITY) {
+            Chunk<T> chunk = new Chunk<>();
+            last.next = chunk;
+            last = chunk;
+        }
+        last.elements[last.count++] = element;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Adds a new element to the specific position in the list. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an index of new element
+     * @param element element to add
+     */
+    @Override
+    public void add(int index, T element) {
+        if (index < 0 || index > size) {
+            throw new IndexOutOfBoundsException("Index not available.");
+        }
+        if (index == size) {
+            add(element);
+            return;
+        }
+        Chunk<T> chunk = first;
+        while (index >= chunk.count) {
+            index -= chunk.count;
+            chunk = chunk.next;
+        }
+        if (chunk.count == CHUNK_CAPACITY) {
+            Chunk<T> upperHalf = new Chunk<>();
+            System.arraycopy(chunk.elements, HALF_CAPACITY, upperHalf.elements, 0, HALF_CAPACITY);
+            Arrays.fill(chunk.elements, HALF_CAPACITY, CHUNK_CAPACITY, null);
+            upperHalf.count = HALF_CAPACITY;
+            chunk.count = HALF_CAPACITY;
+            upperHalf.next = chunk.next;
+            chunk.next = upperHalf;
+            if (last == chunk) {
+                last = upperHalf;
+            }
+            if (index > HALF_CAPACITY) {
+                chunk = upperHalf;
+                index -= HALF_CAPACITY;
+            }
+        }
+        System.arraycopy(chunk.elements, index, chunk.elements, index + 1, chunk.count - index);
+        chunk.elements[index] = element;
+        chunk.count++;
+        size++;
+        modCount++;
+    }
+
+    /**
+     * Changes the value of an list element at specific position. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index   an position of element to change
+     * @param element a new element value
+     */
+    @Override
+    public void set(int index, T element) {
+        checkIndex(index);
+        Chunk<T> chunk = first;
+        while (index >= chunk.count) {
+            index -= chunk.count;
+            chunk = chunk.next;
+        }
+        chunk.elements[index] = element;
+    }
+
+    /**
+     * Retrieves an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     * @return an element value
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T get(int index) {
+        checkIndex(index);
+        if (index >= size - last.count) {
+            return (T) last.elements[index - (size - last.count)];
+        }
+        Chunk<T> chunk = first;
+        while (index >= chunk.count) {
+            index -= chunk.count;
+            chunk = chunk.next;
+        }
+        return (T) chunk.elements[index];
+    }
+
+    /**
+     * Removes an elements by its position index. In case provided index in out of the list bounds it
+     * throws {@link IndexOutOfBoundsException}
+     *
+     * @param index element index
+     */
+    @Override
+    public void remove(int index) {
+        checkIndex(index);
+        Chunk<T> previous = null;
+        Chunk<T> chunk = first;
+        while (index >= chunk.count) {
+            index -= chunk.count;
+            previous = chunk;
+            chunk = chunk.next;
+        }
+        System.arraycopy(chunk.elements, index + 1, chunk.elements, index, chunk.count - index - 1);
+        chunk.elements[--chunk.count] = null;
+        Chunk<T> next = chunk.next;
+        if (chunk.count < HALF_CAPACITY && next != null) {
+            int moved = next.count + chunk.count <= CHUNK_CAPACITY ? next.count : HALF_CAPACITY - chunk.count;
+            System.arraycopy(next.elements, 0, chunk.elements, chunk.count, moved);
+            System.arraycopy(next.elements, moved, next.elements, 0, next.count - moved);
+            Arrays.fill(next.elements, next.count - moved, next.count, null);
+            chunk.count += moved;
+            next.count -= moved;
+            if (next.count == 0) {
+                chunk.next = next.next;
+                if (last == next) {
+                    last = chunk;
+                }
+            }
+        } else if (chunk.count == 0 && previous != null) {
+            previous.next = null;
+            last = previous;
+        }
+        size--;
+        modCount++;
+    }
+
+    /**
+     * Checks if a specific exists in he list
+     *
+     * @return {@code true} if element exist, {@code false} otherwise
+     */
+    @Override
+    public boolean contains(T element) {
+        for (Chunk<T> chunk = first; chunk != null; chunk = chunk.next) {
+            for (int i = 0; i < chunk.count; i++) {
+                if (Objects.equals(chunk.elements[i], element)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Checks if a list is empty
+     *
+     * @return {@code true} if list is empty, {@code false} otherwise
+     */
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    /**
+     * Returns the number of elements in the list
+     *
+     * @return number of elements
+     */
+    @Override
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Removes all list elements
+     */
+    @Override
+    public void clear() {
+        first = new Chunk<>();
+        last = first;
+        size = 0;
+        modCount++;
+    }
+
+    /**
+     * Returns an iterator over the elements from the head to the tail. It throws
+     * {@link ConcurrentModificationException} if the list is structurally modified after the iterator is created.
+     *
+     * @return an iterator over list elements
+     */
+    @Override
+    public Iterator<T> iterator() {
+        return new Iterator<T>() {
+            private final int expectedModCount = modCount;
+            private Chunk<T> chunk = first;
+            private int offset = 0;
+
+            @Override
+            public boolean hasNext() {
+                return offset < chunk.count || chunk.next != null;
+            }
+
+            @Override
+            @SuppressWarnings("unchecked")
+            public T next() {
+                if (modCount != expectedModCount) {
+                    throw new ConcurrentModificationException();
+                }
+                if (offset == chunk.count) {
+                    if (chunk.next == null) {
+                        throw new NoSuchElementException();
+                    }
+                    chunk = chunk.next;
+                    offset = 0;
+                }
+                return (T) chunk.elements[offset++];
+            }
+        };
+    }
+
+    /**
+     * Returns a sized, ordered and fail-fast spliterator over the elements.
+     *
+     * @return a spliterator over list elements
+     */
+    @Override
+    public Spliterator<T> spliterator() {
+        return Spliterators.spliterator(iterator(), size, Spliterator.ORDERED);
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index > size - 1) {
+            throw new IndexOutOfBoundsException("Index not available.");
+        }
+    }
+
+    static class Chunk<T> {
+        private final Object[] elements = new Object[CHUNK_CAPACITY];
+        private int count;
+        private Chunk<T> next;
+    }
+}
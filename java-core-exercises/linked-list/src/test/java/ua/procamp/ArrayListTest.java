@@ -0,0 +1,67 @@
+package ua.procamp;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ConcurrentModificationException;
+import java.util.Spliterator;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+
+@RunWith(JUnit4.class)
+public class ArrayListTest extends ListTest {
+
+    @Override
+    protected List<Integer> of(Integer... elements) {
+        return ArrayList.of(elements);
+    }
+
+    @Test
+    public void testSpliteratorSplitsInHalves() {
+        List<Integer> list = ArrayList.of(1, 2, 3, 4, 5);
+
+        Spliterator<Integer> second = list.spliterator();
+        Spliterator<Integer> first = second.trySplit();
+
+        assertEquals(2, first.estimateSize());
+        assertEquals(3, second.estimateSize());
+        assertTrue(first.hasCharacteristics(Spliterator.SUBSIZED));
+        StringBuilder elements = new StringBuilder();
+        first.forEachRemaining(elements::append);
+        second.forEachRemaining(elements::append);
+        assertEquals("12345", elements.toString());
+        assertNull(first.trySplit());
+    }
+
+    @Test
+    public void testSpliteratorBindsOnFirstUse() {
+        List<Integer> list = ArrayList.of(1, 2);
+        Spliterator<Integer> spliterator = list.spliterator();
+
+        list.add(3);
+
+        assertEquals(3, spliterator.estimateSize());
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testSpliteratorFailsOnModification() {
+        List<Integer> list = ArrayList.of(1, 2, 3);
+
+        list.spliterator().forEachRemaining(list::add);
+    }
+
+    @Test
+    public void testParallelStream() {
+        List<Integer> list = new ArrayList<>();
+        IntStream.range(0, 100_000).forEach(list::add);
+
+        assertEquals(IntStream.range(0, 100_000).boxed().collect(Collectors.toList()),
+                StreamSupport.stream(list.spliterator(), true).collect(Collectors.toList()));
+    }
+}
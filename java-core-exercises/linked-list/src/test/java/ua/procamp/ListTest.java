@@ -0,0 +1,404 @@
+package ua.procamp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.ConcurrentModificationException;
+import java.util.Random;
+import java.util.stream.StreamSupport;
+
+import static org.junit.Assert.*;
+
+/**
+ * Contract of {@link List} implementations. A subclass provides the implementation under test.
+ */
+public abstract class ListTest {
+
+    private List<Integer> intList = of();
+
+    /**
+     * Creates a list of provided elements with the implementation under test.
+     *
+     * @param elements elements to add
+     * @return a new list of elements
+     */
+    protected abstract List<Integer> of(Integer... elements);
+
+    @Test
+    public void testAddIntoEmptyList() {
+        intList.add(41);
+
+        assertEquals(1, intList.size());
+        assertEquals(41, intList.get(0).intValue());
+    }
+
+    @Test
+    public void testGetFirstElementFromSingleElementList() {
+        intList.add(25);
+
+        int element = intList.get(0);
+
+        assertEquals(25, element);
+    }
+
+    @Test
+    public void testAddElements() {
+        intList = of(43, 233, 54);
+
+        assertEquals(3, intList.size());
+        assertEquals(43, intList.get(0).intValue());
+        assertEquals(233, intList.get(1).intValue());
+        assertEquals(54, intList.get(2).intValue());
+    }
+
+
+    @Test
+    public void testGetElements() {
+        intList = of(25, 87, 45);
+
+        int firstElement = intList.get(0);
+        int secondElement = intList.get(1);
+        int thirdElement = intList.get(2);
+
+        assertEquals(25, firstElement);
+        assertEquals(87, secondElement);
+        assertEquals(45, thirdElement);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetFirstElementFromEmptyList() {
+        intList.get(0);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetElementByNegativeIndex() {
+        intList.get(-1);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetElementByIndexEqualsToListSize() {
+        intList = of(33, 46, 25, 87, 45);
+
+        intList.get(5);
+    }
+
+    @Test
+    public void testAddElementByZeroIndexIntoEmptyList() {
+        intList.add(0, 45);
+
+        assertEquals(1, intList.size());
+        assertEquals(45, intList.get(0).intValue());
+    }
+
+    @Test
+    public void testAddElementByIndexToTheEndOfList() {
+        intList = of(98, 64, 23, 1, 3, 4);
+
+        int newElementIndex = intList.size();
+        intList.add(newElementIndex, 44);
+
+        assertEquals(44, intList.get(newElementIndex).intValue());
+        assertEquals(7, intList.size());
+    }
+
+    @Test
+    public void testAddElementToTheHeadOfNonEmptyList() {
+        intList = of(4, 6, 8, 9, 0, 2);
+
+        intList.add(0, 53);
+
+        assertEquals(53, intList.get(0).intValue());
+        assertEquals(4, intList.get(1).intValue());
+        assertEquals(7, intList.size());
+    }
+
+    @Test
+    public void testAddElementByIndex() {
+        intList = of(43, 5, 6, 8);
+
+        int newElementIdx = 2;
+        intList.add(newElementIdx, 66);
+
+        assertEquals(66, intList.get(newElementIdx).intValue());
+        assertEquals(43, intList.get(0).intValue());
+        assertEquals(5, intList.get(1).intValue());
+        assertEquals(6, intList.get(3).intValue());
+        assertEquals(8, intList.get(4).intValue());
+        assertEquals(5, intList.size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddElementByNegativeIndex() {
+        intList.add(-1, 66);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddElementByIndexLargerThanListSize() {
+        intList = of(4, 6, 11, 9);
+
+        int newElementIdx = 5;
+        intList.add(newElementIdx, 88);
+    }
+
+    @Test
+    public void testAddElementByIndexEqualToSize() {
+        intList = of(1, 2, 3, 4, 5); // size = 5
+
+        intList.add(5, 111);
+
+        assertEquals(6, intList.size());
+        assertEquals(111, intList.get(5).intValue());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetFirstElementOnEmptyTree() {
+        intList.set(0, 34);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testSetElementByIndexEqualToSize() {
+        intList = of(2, 3, 4); // size = 3
+
+        intList.set(3, 222);
+    }
+
+    @Test
+    public void testSetElementByIndex() {
+        intList = of(34, 78, 9, 8);
+
+        int index = 2; //element = 78
+        intList.set(index, 99);
+
+        assertEquals(99, intList.get(index).intValue());
+        assertEquals(34, intList.get(0).intValue());
+        assertEquals(78, intList.get(1).intValue());
+        assertEquals(8, intList.get(3).intValue());
+        assertEquals(4, intList.size());
+
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRemoveElementFromEmptyList() {
+        intList.remove(234);
+    }
+
+    @Test
+    public void testRemoveFirstElement() {
+        intList = of(4, 6, 8, 9);
+
+        intList.remove(0);
+
+        assertEquals(6, intList.get(0).intValue());
+        assertEquals(3, intList.size());
+    }
+
+    @Test
+    public void testRemoveLastElement() {
+        intList = of(4, 6, 8, 9);
+
+        intList.remove(intList.size() - 1);
+
+        assertEquals(8, intList.get(intList.size() - 1).intValue());
+        assertEquals(3, intList.size());
+    }
+
+    @Test
+    public void testRemoveElement() {
+        intList = of(1, 2, 3, 4, 5);
+
+        int elementIndex = 2;
+        intList.remove(elementIndex); // element = 3
+
+        assertEquals(4, intList.get(elementIndex).intValue());
+        assertEquals(4, intList.size());
+    }
+
+    @Test
+    public void testContainsOnEmptyList() {
+        boolean contains = intList.contains(34);
+
+        assertFalse(contains);
+    }
+
+    @Test
+    public void testContains() {
+        intList = of(45, 6, 3, 6);
+
+        boolean containsExistingElement = intList.contains(3);
+        boolean containsNotExistingElement = intList.contains(54);
+
+        assertTrue(containsExistingElement);
+        assertFalse(containsNotExistingElement);
+    }
+
+    @Test
+    public void testIsEmptyOnEmptyList() {
+        boolean empty = intList.isEmpty();
+
+        assertTrue(empty);
+    }
+
+    @Test
+    public void testIsEmpty() {
+        intList = of(34, 5, 6);
+
+        boolean empty = intList.isEmpty();
+
+        assertFalse(empty);
+    }
+
+    @Test
+    public void testSizeOnEmptyList() {
+        int size = intList.size();
+
+        assertEquals(0, size);
+    }
+
+    @Test
+    public void testSize() {
+        intList = of(4, 7, 9, 0, 7);
+
+        int size = intList.size();
+
+        assertEquals(5, size);
+    }
+
+    @Test
+    public void testClearOnEmptyList() {
+        intList.clear();
+
+        assertEquals(0, intList.size());
+    }
+
+    @Test
+    public void testClearChangesTheSize() {
+        intList = of(4, 5, 6);
+
+        intList.clear();
+
+        assertEquals(0, intList.size());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testClearRemovesElements() {
+        intList = of(4, 5, 6);
+
+        intList.clear();
+        intList.get(0);
+    }
+
+
+    @Test
+    public void testAddAfterRemovingLastElement() {
+        intList = of(1, 2, 3);
+
+        intList.remove(2);
+        intList.add(4);
+
+        assertEquals(3, intList.size());
+        assertEquals(2, intList.get(1).intValue());
+        assertEquals(4, intList.get(2).intValue());
+    }
+
+    @Test
+    public void testAddAfterClear() {
+        intList = of(1, 2, 3);
+
+        intList.clear();
+        intList.add(4);
+        intList.add(5);
+
+        assertEquals(2, intList.size());
+        assertEquals(5, intList.get(1).intValue());
+    }
+
+    @Test
+    public void testContainsNull() {
+        intList = of(1, null, 3);
+
+        assertTrue(intList.contains(null));
+        assertFalse(of(1, 2).contains(null));
+    }
+
+    @Test
+    public void testIterator() {
+        intList = of(5, 8, 13);
+
+        java.util.List<Integer> elements = new ArrayList<>();
+        for (int element : intList) {
+            elements.add(element);
+        }
+
+        assertEquals(Arrays.asList(5, 8, 13), elements);
+    }
+
+    @Test(expected = ConcurrentModificationException.class)
+    public void testIteratorFailsOnModification() {
+        intList = of(5, 8, 13);
+
+        for (int element : intList) {
+            intList.add(element);
+        }
+    }
+
+    @Test
+    public void testStream() {
+        intList = of(5, 8, 13);
+
+        assertEquals(3, intList.spliterator().getExactSizeIfKnown());
+        assertEquals(26, StreamSupport.stream(intList.spliterator(), false).mapToInt(Integer::intValue).sum());
+    }
+
+    @Test
+    public void testLongList() {
+        int size = 1_000_000;
+        for (int i = 0; i < size; i++) {
+            intList.add(i);
+        }
+
+        long sum = 0;
+        for (int element : intList) {
+            sum += element;
+        }
+
+        assertEquals(size, intList.size());
+        assertEquals(size - 1, intList.get(size - 1).intValue());
+        assertEquals((long) size * (size - 1) / 2, sum);
+        assertTrue(intList.contains(size - 1));
+    }
+
+    @Test
+    public void testRandomOperations() {
+        java.util.List<Integer> expected = new ArrayList<>();
+        Random random = new Random(42);
+        for (int i = 0; i < 20_000; i++) {
+            int operation = random.nextInt(10);
+            if (operation < 3 || expected.isEmpty()) {
+                intList.add(i);
+                expected.add(i);
+            } else if (operation < 6) {
+                int index = random.nextInt(expected.size() + 1);
+                intList.add(index, i);
+                expected.add(index, i);
+            } else if (operation < 9) {
+                int index = random.nextInt(expected.size());
+                intList.remove(index);
+                expected.remove(index);
+            } else {
+                int index = random.nextInt(expected.size());
+                intList.set(index, i);
+                expected.set(index, i);
+            }
+        }
+
+        java.util.List<Integer> elements = new ArrayList<>();
+        intList.forEach(elements::add);
+        assertEquals(expected, elements);
+        assertEquals(expected.size(), intList.size());
+        for (int i = 0; i < expected.size(); i++) {
+            assertEquals(expected.get(i), intList.get(i));
+        }
+    }
+
+}
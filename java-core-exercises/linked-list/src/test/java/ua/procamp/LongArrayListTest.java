@@ -0,0 +1,124 @@
+package ua.procamp;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class LongArrayListTest {
+
+    private LongList list = new LongArrayList();
+
+    @Test
+    public void testAdd() {
+        list.add(41L);
+        list.add(42L);
+
+        assertEquals(2, list.size());
+        assertEquals(41L, list.get(0));
+        assertEquals(42L, list.get(1));
+    }
+
+    @Test
+    public void testAddByIndex() {
+        list = LongArrayList.of(43, 5, 6, 8);
+
+        list.add(2, 66L);
+        list.add(0, 1L);
+        list.add(list.size(), 99L);
+
+        assertArrayEquals(new long[]{1, 43, 5, 66, 6, 8, 99}, list.toArray());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testAddByIndexLargerThanSize() {
+        list = LongArrayList.of(4, 6, 11);
+
+        list.add(4, 88L);
+    }
+
+    @Test
+    public void testAddAll() {
+        list.add(1L);
+
+        list.addAll(new long[]{2, 3});
+        list.addAll(new long[100]);
+
+        assertEquals(103, list.size());
+        assertEquals(3L, list.get(2));
+        assertEquals(0L, list.get(102));
+    }
+
+    @Test
+    public void testSet() {
+        list = LongArrayList.of(34, 78, 9, 8);
+
+        list.set(2, 99L);
+
+        assertArrayEquals(new long[]{34, 78, 99, 8}, list.toArray());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testGetByIndexEqualToSize() {
+        list = LongArrayList.of(33, 46);
+
+        list.get(2);
+    }
+
+    @Test
+    public void testRemove() {
+        list = LongArrayList.of(1, 2, 3, 4, 5);
+
+        list.remove(0);
+        list.remove(1);
+        list.remove(list.size() - 1);
+
+        assertArrayEquals(new long[]{2, 4}, list.toArray());
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void testRemoveFromEmptyList() {
+        list.remove(0);
+    }
+
+    @Test
+    public void testContains() {
+        list = LongArrayList.of(45, 6, 3, 6);
+
+        assertTrue(list.contains(3L));
+        assertFalse(list.contains(54L));
+    }
+
+    @Test
+    public void testClear() {
+        list = LongArrayList.of(4, 5, 6);
+
+        list.clear();
+
+        assertTrue(list.isEmpty());
+        assertEquals(0, list.toArray().length);
+        assertFalse(list.contains(4L));
+    }
+
+    @Test
+    public void testStream() {
+        list = LongArrayList.of(5, 8, 13);
+        list.remove(2);
+
+        assertEquals(13, list.stream().sum());
+    }
+
+    @Test
+    public void testGrow() {
+        int size = 1_000_000;
+        for (int i = 0; i < size; i++) {
+            list.add(i);
+        }
+
+        assertEquals(size, list.size());
+        assertEquals(size - 1, list.get(size - 1));
+        assertEquals((long) size * (size - 1) / 2, list.stream().sum());
+    }
+}
@@ -0,0 +1,13 @@
+package ua.procamp;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class UnrolledLinkedListTest extends ListTest {
+
+    @Override
+    protected List<Integer> of(Integer... elements) {
+        return UnrolledLinkedList.of(elements);
+    }
+}
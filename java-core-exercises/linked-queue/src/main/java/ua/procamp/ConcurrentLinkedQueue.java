@@ -0,0 +1,125 @@
+package ua.procamp;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceFieldUpdater;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * {@link ConcurrentLinkedQueue} implements FIFO {@link Queue} that is safe to share between any number of producer and
+ * consumer threads. It is the lock-free queue of Michael and Scott: the head is a dummy node whose next node holds the
+ * first element, {@link #add(Object)} links a node after the tail with a compare-and-set, and {@link #poll()} moves the
+ * head to the next node with a compare-and-set. A thread that finds the tail lagging behind the last node advances it
+ * before trying again, so no thread ever waits for another one.
+ * <p>
+ * Elements must not be {@code null}, since {@link #poll()} returns {@code null} for an empty queue. {@link #size()} is
+ * a sum of counters updated after elements are linked and unlinked, so it is approximate while other threads modify
+ * the queue.
+ *
+ * @param <T> a generic parameter
+ */
+public class ConcurrentLinkedQueue<T> implements Queue<T> {
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentLinkedQueue, Node> HEAD =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentLinkedQueue.class, Node.class, "head");
+    @SuppressWarnings("rawtypes")
+    private static final AtomicReferenceFieldUpdater<ConcurrentLinkedQueue, Node> TAIL =
+            AtomicReferenceFieldUpdater.newUpdater(ConcurrentLinkedQueue.class, Node.class, "tail");
+
+    private volatile Node<T> head;
+    private volatile Node<T> tail;
+    private final LongAdder size = new LongAdder();
+
+    public ConcurrentLinkedQueue() {
+        head = tail = new Node<>(null);
+    }
+
+    /**
+     * Adds an element to the end of the queue.
+     *
+     * @param element the element to add
+     */
+    @Override
+    public void add(T element) {
+        Node<T> node = new Node<>(Objects.requireNonNull(element));
+        while (true) {
+            Node<T> last = tail;
+            Node<T> next = last.next;
+            if (last != tail) {
+                continue;
+            }
+            if (next != null) {
+                TAIL.compareAndSet(this, last, next);
+            } else if (last.casNext(null, node)) {
+                TAIL.compareAndSet(this, last, node);
+                size.increment();
+                return;
+            }
+        }
+    }
+
+    /**
+     * Retrieves and removes queue head.
+     *
+     * @return an element that was retrieved from the head or null if queue is empty
+     */
+    @Override
+    public T poll() {
+        while (true) {
+            Node<T> first = head;
+            Node<T> last = tail;
+            Node<T> next = first.next;
+            if (first != head) {
+                continue;
+            }
+            if (next == null) {
+                return null;
+            }
+            if (first == last) {
+                TAIL.compareAndSet(this, last, next);
+            } else if (HEAD.compareAndSet(this, first, next)) {
+                // the next node becomes the dummy head, only the thread that moved the head takes its element
+                T element = next.data;
+                next.data = null;
+                size.decrement();
+                return element;
+            }
+        }
+    }
+
+    /**
+     * Returns an approximate size of the queue. It is exact when no other thread modifies the queue.
+     *
+     * @return an integer value that is a size of queue
+     */
+    @Override
+    public int size() {
+        return (int) Math.max(0, Math.min(size.sum(), Integer.MAX_VALUE));
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, returns {@code false} if it's not
+     */
+    @Override
+    public boolean isEmpty() {
+        return head.next == null;
+    }
+
+    private static final class Node<T> {
+        @SuppressWarnings("rawtypes")
+        private static final AtomicReferenceFieldUpdater<Node, Node> NEXT =
+                AtomicReferenceFieldUpdater.newUpdater(Node.class, Node.class, "next");
+
+        private T data;
+        private volatile Node<T> next;
+
+        Node(T data) {
+            this.data = data;
+        }
+
+        boolean casNext(Node<T> expected, Node<T> update) {
+            return NEXT.compareAndSet(this, expected, update);
+        }
+    }
+}
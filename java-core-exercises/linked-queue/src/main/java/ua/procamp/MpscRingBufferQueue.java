@@ -0,0 +1,108 @@
+package ua.procamp;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.function.Consumer;
+
+/**
+ * {@link MpscRingBufferQueue} is a {@link RingBufferQueue} for any number of producer threads and a single consumer
+ * thread. A producer claims slots by moving the tail with a compare-and-set and then fills them, so the consumer
+ * takes an element when its slot is filled rather than when the tail passes it.
+ *
+ * @param <T> a generic parameter
+ */
+public class MpscRingBufferQueue<T> extends RingBufferQueue<T> {
+    private final AtomicReferenceArray<T> buffer;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param capacity max number of elements, rounded up to a power of two
+     */
+    public MpscRingBufferQueue(int capacity) {
+        super(capacity);
+        buffer = new AtomicReferenceArray<>(capacity());
+    }
+
+    @Override
+    public boolean offer(T element) {
+        Objects.requireNonNull(element);
+        long last;
+        do {
+            last = tail.get();
+            if (last - head.get() > mask) {
+                return false;
+            }
+        } while (!tail.compareAndSet(last, last + 1));
+        buffer.lazySet((int) last & mask, element);
+        return true;
+    }
+
+    @Override
+    public boolean offerAll(T[] elements) {
+        requireNonNullElements(elements);
+        long last;
+        do {
+            last = tail.get();
+            if (last - head.get() + elements.length > capacity()) {
+                return false;
+            }
+        } while (!tail.compareAndSet(last, last + elements.length));
+        for (T element : elements) {
+            buffer.lazySet((int) last++ & mask, element);
+        }
+        return true;
+    }
+
+    /**
+     * Retrieves and removes queue head. If a producer has claimed the head slot but not filled it yet, waits for it.
+     *
+     * @return an element that was retrieved from the head or null if queue is empty
+     */
+    @Override
+    public T poll() {
+        long first = head.get();
+        int index = (int) first & mask;
+        T element = buffer.get(index);
+        if (element == null) {
+            if (first == tail.get()) {
+                return null;
+            }
+            while ((element = buffer.get(index)) == null) {
+                Thread.yield();
+            }
+        }
+        buffer.lazySet(index, null);
+        head.lazySet(first + 1);
+        return element;
+    }
+
+    /**
+     * Retrieves and removes up to {@code maxElements} filled elements from the head and passes them to the consumer in
+     * order. It stops at a slot that a producer has claimed but not filled yet.
+     *
+     * @param consumer    consumer of elements
+     * @param maxElements max number of elements to remove
+     * @return number of elements removed
+     */
+    @Override
+    public int drainTo(Consumer<? super T> consumer, int maxElements) {
+        long first = head.get();
+        int count = 0;
+        try {
+            while (count < maxElements) {
+                int index = (int) (first + count) & mask;
+                T element = buffer.get(index);
+                if (element == null) {
+                    break;
+                }
+                buffer.lazySet(index, null);
+                count++;
+                consumer.accept(element);
+            }
+        } finally {
+            head.lazySet(first + count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,160 @@
+package ua.procamp;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
+import java.util.function.Consumer;
+
+/**
+ * {@link RingBufferQueue} is a bounded FIFO {@link Queue} that keeps elements in an array used as a ring. Its capacity
+ * is rounded up to a power of two, so a position is mapped to a slot with a mask, and positions of the head and the
+ * tail only grow. The head and the tail are each padded to a cache line of their own, so the consumer moving the head
+ * and producers moving the tail do not invalidate each other's cache lines.
+ * <p>
+ * Once the queue is created, adding and polling do not allocate. {@link #offer(Object)} returns {@code false} when the
+ * queue is full, which lets a producer apply backpressure, while {@link #add(Object)} throws. Batches are added with
+ * {@link #offerAll(Object[])} and polled with {@link #drainTo(Consumer, int)}, which move the tail or the head once per
+ * batch. Elements must not be {@code null}.
+ *
+ * @param <T> a generic parameter
+ * @see SpscRingBufferQueue
+ * @see MpscRingBufferQueue
+ */
+public abstract class RingBufferQueue<T> implements Queue<T> {
+    private static final int MAX_CAPACITY = 1 << 30;
+
+    final int mask;
+    final Sequence head = new Sequence();
+    final Sequence tail = new Sequence();
+
+    RingBufferQueue(int capacity) {
+        if (capacity <= 0 || capacity > MAX_CAPACITY) {
+            throw new IllegalArgumentException("Capacity must be between 1 and " + MAX_CAPACITY + ": " + capacity);
+        }
+        this.mask = (capacity == 1 ? 1 : Integer.highestOneBit(capacity - 1) << 1) - 1;
+    }
+
+    /**
+     * Adds an element to the end of the queue if there is room for it.
+     *
+     * @param element the element to add
+     * @return {@code true} if the element is added, {@code false} if the queue is full
+     */
+    public abstract boolean offer(T element);
+
+    /**
+     * Adds all elements of the array to the end of the queue if there is room for all of them. Elements of the array
+     * are never interleaved with elements of other producers.
+     *
+     * @param elements elements to add
+     * @return {@code true} if the elements are added, {@code false} if the queue has no room for all of them
+     */
+    public abstract boolean offerAll(T[] elements);
+
+    /**
+     * Retrieves and removes up to {@code maxElements} elements from the head and passes them to the consumer in order.
+     *
+     * @param consumer    consumer of elements
+     * @param maxElements max number of elements to remove
+     * @return number of elements removed
+     */
+    public abstract int drainTo(Consumer<? super T> consumer, int maxElements);
+
+    /**
+     * Adds an element to the end of the queue.
+     *
+     * @param element the element to add
+     * @throws IllegalStateException if the queue is full
+     */
+    @Override
+    public void add(T element) {
+        if (!offer(element)) {
+            throw new IllegalStateException("Queue is full");
+        }
+    }
+
+    /**
+     * Adds all elements of the array to the end of the queue.
+     *
+     * @param elements elements to add
+     * @throws IllegalStateException if the queue has no room for all elements, none of them are added then
+     */
+    public void addAll(T[] elements) {
+        if (!offerAll(elements)) {
+            throw new IllegalStateException("Queue has no room for " + elements.length + " elements");
+        }
+    }
+
+    /**
+     * Returns the max number of elements in the queue.
+     *
+     * @return capacity of the queue, a power of two
+     */
+    public int capacity() {
+        return mask + 1;
+    }
+
+    /**
+     * Returns a size of the queue. It is approximate while other threads modify the queue.
+     *
+     * @return an integer value that is a size of queue
+     */
+    @Override
+    public int size() {
+        // the head is read first, so it is never ahead of the tail read after it
+        long first = head.get();
+        return (int) Math.max(0, Math.min(tail.get() - first, capacity()));
+    }
+
+    /**
+     * Checks if the queue is empty.
+     *
+     * @return {@code true} if the queue is empty, returns {@code false} if it's not
+     */
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    static <T> void requireNonNullElements(T[] elements) {
+        for (T element : elements) {
+            Objects.requireNonNull(element);
+        }
+    }
+
+    static class LeftPadding {
+        long p01, p02, p03, p04, p05, p06, p07;
+    }
+
+    static class SequenceValue extends LeftPadding {
+        volatile long value;
+    }
+
+    static class RightPadding extends SequenceValue {
+        long p09, p10, p11, p12, p13, p14, p15;
+    }
+
+    /**
+     * A position in the ring padded with a cache line on each side. HotSpot lays out fields of a superclass before
+     * fields of a subclass, so the value stays between the paddings.
+     */
+    static final class Sequence extends RightPadding {
+        private static final AtomicLongFieldUpdater<SequenceValue> VALUE =
+                AtomicLongFieldUpdater.newUpdater(SequenceValue.class, "value");
+
+        long get() {
+            return value;
+        }
+
+        /**
+         * Sets the value without a full fence. Writes before it become visible to a thread that reads the value
+         * before the value does.
+         */
+        void lazySet(long newValue) {
+            VALUE.lazySet(this, newValue);
+        }
+
+        boolean compareAndSet(long expected, long newValue) {
+            return VALUE.compareAndSet(this, expected, newValue);
+        }
+    }
+}
@@ -0,0 +1,90 @@
+package ua.procamp;
+
+import java.util.Objects;
+import java.util.function.Consumer;
+
+/**
+ * {@link SpscRingBufferQueue} is a {@link RingBufferQueue} for a single producer thread and a single consumer thread.
+ * Only the producer moves the tail and only the consumer moves the head, so both are published with ordered writes
+ * and no compare-and-set.
+ *
+ * @param <T> a generic parameter
+ */
+public class SpscRingBufferQueue<T> extends RingBufferQueue<T> {
+    private final Object[] buffer;
+
+    /**
+     * Creates an empty queue.
+     *
+     * @param capacity max number of elements, rounded up to a power of two
+     */
+    public SpscRingBufferQueue(int capacity) {
+        super(capacity);
+        buffer = new Object[capacity()];
+    }
+
+    @Override
+    public boolean offer(T element) {
+        Objects.requireNonNull(element);
+        long last = tail.get();
+        if (last - head.get() > mask) {
+            return false;
+        }
+        buffer[(int) last & mask] = element;
+        tail.lazySet(last + 1);
+        return true;
+    }
+
+    @Override
+    public boolean offerAll(T[] elements) {
+        requireNonNullElements(elements);
+        long last = tail.get();
+        if (last - head.get() + elements.length > capacity()) {
+            return false;
+        }
+        for (T element : elements) {
+            buffer[(int) last++ & mask] = element;
+        }
+        tail.lazySet(last);
+        return true;
+    }
+
+    /**
+     * Retrieves and removes queue head.
+     *
+     * @return an element that was retrieved from the head or null if queue is empty
+     */
+    @Override
+    @SuppressWarnings("unchecked")
+    public T poll() {
+        long first = head.get();
+        if (first == tail.get()) {
+            return null;
+        }
+        int index = (int) first & mask;
+        T element = (T) buffer[index];
+        buffer[index] = null;
+        head.lazySet(first + 1);
+        return element;
+    }
+
+    @Override
+    @SuppressWarnings("unchecked")
+    public int drainTo(Consumer<? super T> consumer, int maxElements) {
+        long first = head.get();
+        long available = Math.min(tail.get() - first, Math.max(0, maxElements));
+        int count = 0;
+        try {
+            while (count < available) {
+                int index = (int) (first + count) & mask;
+                T element = (T) buffer[index];
+                buffer[index] = null;
+                count++;
+                consumer.accept(element);
+            }
+        } finally {
+            head.lazySet(first + count);
+        }
+        return count;
+    }
+}
@@ -0,0 +1,99 @@
+package ua.procamp;
+
+import org.junit.Test;
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.junit.Assert.*;
+
+@RunWith(JUnit4.class)
+public class ConcurrentLinkedQueueTest extends QueueTest {
+    private static final int PRODUCERS = 4;
+    private static final int CONSUMERS = 4;
+    private static final int ELEMENTS_PER_PRODUCER = 200_000;
+
+    @Override
+    protected Queue<Integer> createQueue() {
+        return new ConcurrentLinkedQueue<>();
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testAddNull() {
+        createQueue().add(null);
+    }
+
+    /**
+     * Producers add increasing numbers tagged with the producer index while consumers poll. Every element must be
+     * polled exactly once, and elements of each producer must be polled by a consumer in the order they were added.
+     */
+    @Test(timeout = 60_000)
+    public void testConcurrentProducersAndConsumers() throws Exception {
+        Queue<Integer> queue = createQueue();
+        ExecutorService executor = Executors.newFixedThreadPool(PRODUCERS + CONSUMERS);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger producersLeft = new AtomicInteger(PRODUCERS);
+        List<Future<boolean[]>> consumers = new ArrayList<>();
+        try {
+            for (int producer = 0; producer < PRODUCERS; producer++) {
+                int tag = producer;
+                executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ELEMENTS_PER_PRODUCER; i++) {
+                        queue.add(tag * ELEMENTS_PER_PRODUCER + i);
+                    }
+                    producersLeft.decrementAndGet();
+                    return null;
+                });
+            }
+            for (int consumer = 0; consumer < CONSUMERS; consumer++) {
+                consumers.add(executor.submit(() -> {
+                    boolean[] polled = new boolean[PRODUCERS * ELEMENTS_PER_PRODUCER];
+                    int[] lastPolled = new int[PRODUCERS];
+                    Arrays.fill(lastPolled, -1);
+                    start.await();
+                    while (true) {
+                        boolean producing = producersLeft.get() > 0;
+                        Integer element = queue.poll();
+                        if (element == null) {
+                            if (!producing) {
+                                return polled;
+                            }
+                            continue;
+                        }
+                        int producer = element / ELEMENTS_PER_PRODUCER;
+                        assertTrue("Elements of a producer are out of order", element > lastPolled[producer]);
+                        lastPolled[producer] = element;
+                        polled[element] = true;
+                    }
+                }));
+            }
+            start.countDown();
+
+            int[] timesPolled = new int[PRODUCERS * ELEMENTS_PER_PRODUCER];
+            for (Future<boolean[]> consumer : consumers) {
+                boolean[] polled = consumer.get();
+                for (int i = 0; i < polled.length; i++) {
+                    timesPolled[i] += polled[i] ? 1 : 0;
+                }
+            }
+            for (int i = 0; i < timesPolled.length; i++) {
+                assertEquals("Element " + i, 1, timesPolled[i]);
+            }
+            assertTrue(queue.isEmpty());
+            assertEquals(0, queue.size());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}
@@ -0,0 +1,13 @@
+package ua.procamp;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class LinkedQueueTest extends QueueTest {
+
+    @Override
+    protected Queue<Integer> createQueue() {
+        return new LinkedQueue<>();
+    }
+}
@@ -0,0 +1,18 @@
+package ua.procamp;
+
+import org.junit.runner.RunWith;
+import org.junit.runners.JUnit4;
+
+@RunWith(JUnit4.class)
+public class MpscRingBufferQueueTest extends RingBufferQueueTest {
+
+    @Override
+    protected RingBufferQueue<Integer> createQueue(int capacity) {
+        return new MpscRingBufferQueue<>(capacity);
+    }
+
+    @Override
+    protected int producers() {
+        return 4;
+    }
+}
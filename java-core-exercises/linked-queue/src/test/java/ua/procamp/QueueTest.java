@@ -1,15 +1,22 @@
 package ua.procamp;
 
 import org.junit.Test;
-import org.junit.runner.RunWith;
-import org.junit.runners.JUnit4;
 
 import static org.junit.Assert.*;
 
-@RunWith(JUnit4.class)
-public class QueueTest {
+/**
+ * Contract of {@link Queue} implementations. A subclass provides the implementation under test.
+ */
+public abstract class QueueTest {
 
-    private Queue<Integer> integerQueue = new LinkedQueue<>();
+    private Queue<Integer> integerQueue = createQueue();
+
+    /**
+     * Creates an empty queue with the implementation under test.
+     *
+     * @return a new queue
+     */
+    protected abstract Queue<Integer> createQueue();
 
     @Test
     public void testAddElementIntoEmptyQueue() {
@@ -91,4 +98,18 @@ public class QueueTest {
         assertEquals(0, integerQueue.size());
     }
 
+    @Test
+    public void testAddAfterPollingLastElement() {
+        integerQueue.add(1);
+        integerQueue.poll();
+
+        integerQueue.add(2);
+        integerQueue.add(3);
+
+        assertEquals(2, integerQueue.size());
+        assertEquals(2, integerQueue.poll().intValue());
+        assertEquals(3, integerQueue.poll().intValue());
+        assertTrue(integerQueue.isEmpty());
+    }
+
 }
@@ -0,0 +1,232 @@
+package ua.procamp;
+
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Consumer;
+
+import static org.junit.Assert.*;
+
+/**
+ * Contract of {@link RingBufferQueue} implementations in addition to the {@link Queue} contract. A subclass provides
+ * the implementation under test and the number of producer threads it supports.
+ */
+public abstract class RingBufferQueueTest extends QueueTest {
+    private static final int ELEMENTS_PER_PRODUCER = 200_000;
+
+    /**
+     * Creates an empty queue with the implementation under test.
+     *
+     * @param capacity max number of elements
+     * @return a new queue
+     */
+    protected abstract RingBufferQueue<Integer> createQueue(int capacity);
+
+    /**
+     * Returns the number of producer threads for the concurrent test.
+     *
+     * @return number of producers
+     */
+    protected abstract int producers();
+
+    @Override
+    protected Queue<Integer> createQueue() {
+        return createQueue(1024);
+    }
+
+    @Test
+    public void testCapacityIsRoundedUpToPowerOfTwo() {
+        assertEquals(1, createQueue(1).capacity());
+        assertEquals(8, createQueue(5).capacity());
+        assertEquals(16, createQueue(16).capacity());
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void testZeroCapacity() {
+        createQueue(0);
+    }
+
+    @Test
+    public void testOfferToFullQueue() {
+        RingBufferQueue<Integer> queue = createQueue(4);
+        for (int i = 0; i < 4; i++) {
+            assertTrue(queue.offer(i));
+        }
+
+        assertFalse(queue.offer(4));
+        assertEquals(4, queue.size());
+        assertEquals(0, queue.poll().intValue());
+        assertTrue(queue.offer(4));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddToFullQueue() {
+        RingBufferQueue<Integer> queue = createQueue(2);
+        queue.add(1);
+        queue.add(2);
+
+        queue.add(3);
+    }
+
+    @Test(expected = NullPointerException.class)
+    public void testOfferNull() {
+        createQueue(2).offer(null);
+    }
+
+    @Test
+    public void testWrapAround() {
+        RingBufferQueue<Integer> queue = createQueue(4);
+
+        for (int i = 0; i < 100; i++) {
+            queue.add(i);
+            queue.add(-i);
+            assertEquals(i, queue.poll().intValue());
+            assertEquals(-i, queue.poll().intValue());
+        }
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testOfferAll() {
+        RingBufferQueue<Integer> queue = createQueue(4);
+        queue.add(1);
+
+        assertTrue(queue.offerAll(new Integer[]{2, 3}));
+        assertFalse(queue.offerAll(new Integer[]{4, 5}));
+        assertEquals(3, queue.size());
+        assertTrue(queue.offerAll(new Integer[]{4}));
+
+        List<Integer> polled = new ArrayList<>();
+        queue.drainTo(polled::add, Integer.MAX_VALUE);
+        assertEquals(Arrays.asList(1, 2, 3, 4), polled);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void testAddAllToFullQueue() {
+        RingBufferQueue<Integer> queue = createQueue(2);
+
+        queue.addAll(new Integer[]{1, 2, 3});
+    }
+
+    @Test
+    public void testDrainTo() {
+        RingBufferQueue<Integer> queue = createQueue(8);
+        queue.addAll(new Integer[]{1, 2, 3, 4, 5});
+
+        List<Integer> polled = new ArrayList<>();
+        assertEquals(3, queue.drainTo(polled::add, 3));
+        assertEquals(0, queue.drainTo(polled::add, 0));
+
+        assertEquals(Arrays.asList(1, 2, 3), polled);
+        assertEquals(2, queue.size());
+        assertEquals(4, queue.poll().intValue());
+        assertEquals(1, queue.drainTo(polled::add, 3));
+        assertEquals(0, queue.drainTo(polled::add, 3));
+        assertTrue(queue.isEmpty());
+    }
+
+    @Test
+    public void testDrainToFailingConsumer() {
+        RingBufferQueue<Integer> queue = createQueue(8);
+        queue.addAll(new Integer[]{1, 2, 3});
+
+        try {
+            queue.drainTo(element -> {
+                if (element == 2) {
+                    throw new IllegalStateException();
+                }
+            }, 3);
+            fail();
+        } catch (IllegalStateException e) {
+            // elements passed to the consumer are removed
+        }
+
+        assertEquals(1, queue.size());
+        assertEquals(3, queue.poll().intValue());
+    }
+
+    /**
+     * Producers add increasing numbers tagged with the producer index, in single elements and in batches, while the
+     * consumer polls a small queue. Every element must be polled once, and elements of each producer in order.
+     */
+    @Test(timeout = 60_000)
+    public void testConcurrentProducersAndConsumer() throws Exception {
+        int producers = producers();
+        RingBufferQueue<Integer> queue = createQueue(64);
+        ExecutorService executor = Executors.newFixedThreadPool(producers + 1);
+        CountDownLatch start = new CountDownLatch(1);
+        AtomicInteger producersLeft = new AtomicInteger(producers);
+        try {
+            List<Future<?>> producerResults = new ArrayList<>();
+            for (int producer = 0; producer < producers; producer++) {
+                int tag = producer;
+                producerResults.add(executor.submit(() -> {
+                    start.await();
+                    for (int i = 0; i < ELEMENTS_PER_PRODUCER; ) {
+                        int element = tag * ELEMENTS_PER_PRODUCER + i;
+                        if (i % 3 == 0 && i + 2 < ELEMENTS_PER_PRODUCER) {
+                            Integer[] batch = {element, element + 1, element + 2};
+                            if (queue.offerAll(batch)) {
+                                i += batch.length;
+                            } else {
+                                Thread.yield();
+                            }
+                        } else if (queue.offer(element)) {
+                            i++;
+                        } else {
+                            Thread.yield();
+                        }
+                    }
+                    producersLeft.decrementAndGet();
+                    return null;
+                }));
+            }
+            Future<int[]> consumer = executor.submit(() -> {
+                int[] timesPolled = new int[producers * ELEMENTS_PER_PRODUCER];
+                int[] lastPolled = new int[producers];
+                Arrays.fill(lastPolled, -1);
+                start.await();
+                Consumer<Integer> check = element -> {
+                    int producer = element / ELEMENTS_PER_PRODUCER;
+                    assertTrue("Elements of a producer are out of order", element > lastPolled[producer]);
+                    lastPolled[producer] = element;
+                    timesPolled[element]++;
+                };
+                while (true) {
+                    boolean producing = producersLeft.get() > 0;
+                    if (queue.drainTo(check, 16) == 0) {
+                        Integer element = queue.poll();
+                        if (element != null) {
+                            check.accept(element);
+                        } else if (!producing) {
+                            return timesPolled;
+                        } else {
+                            Thread.yield();
+                        }
+                    }
+                }
+            });
+            start.countDown();
+
+            for (Future<?> producer : producerResults) {
+                producer.get();
+            }
+            int[] timesPolled = consumer.get();
+            for (int i = 0; i < timesPolled.length; i++) {
+                assertEquals("Element " + i, 1, timesPolled[i]);
+            }
+            assertTrue(queue.isEmpty());
+        } finally {
+            executor.shutdownNow();
+            executor.awaitTermination(10, TimeUnit.SECONDS);
+        }
+    }
+}